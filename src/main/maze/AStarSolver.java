@@ -0,0 +1,128 @@
+package maze;
+
+/**
+ * A* search guided by the Manhattan distance to the goal. Finds a
+ * shortest path like BfsSolver but heads for the goal first, so on
+ * open mazes it touches far fewer cells. Ties between equal
+ * estimates go to the cell nearer the goal.
+ *
+ * <p>The open set is an IndexedMinHeap of cell ids. It and the cost
+ * array are kept between solves, so repeated solves on one maze
+ * allocate only the path they return.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public final class AStarSolver extends GridSolver
+{
+
+    /**
+     * Shifts the estimate above the tie breaker in a heap key.
+     */
+    private static final int ESTIMATE_SHIFT = 32;
+    private final IndexedMinHeap open = new IndexedMinHeap();
+    private int[] cost = new int[0];
+    private int goalRow;
+    private int goalCol;
+
+    @Override
+    public MazePath solve(GridView blocked, int startRow, int startCol,
+            int goalRow, int goalCol)
+    {
+        checkCell(blocked, startRow, startCol);
+        checkCell(blocked, goalRow, goalCol);
+        int height = blocked.getHeight();
+        int width = blocked.getWidth();
+        prepare(Math.multiplyExact(height, width));
+        this.goalRow = goalRow;
+        this.goalCol = goalCol;
+
+        int goal = goalRow * width + goalCol;
+        int first = startRow * width + startCol;
+        reach(first, -1);
+        cost[first] = 0;
+        open.push(first, key(0, startRow, startCol));
+
+        while (!open.isEmpty())
+        {
+            int cell = open.pop();
+            expand();
+            if (cell == goal)
+            {
+                return trace(goal, width);
+            }
+            int row = cell / width;
+            int col = cell - row * width;
+            int next = cost[cell] + 1;
+            if (row > 0 && !blocked.get(row - 1, col))
+            {
+                relax(cell - width, cell, next, row - 1, col);
+            }
+            if (row < height - 1 && !blocked.get(row + 1, col))
+            {
+                relax(cell + width, cell, next, row + 1, col);
+            }
+            if (col > 0 && !blocked.get(row, col - 1))
+            {
+                relax(cell - 1, cell, next, row, col - 1);
+            }
+            if (col < width - 1 && !blocked.get(row, col + 1))
+            {
+                relax(cell + 1, cell, next, row, col + 1);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    protected void prepare(int cells)
+    {
+        super.prepare(cells);
+        if (cost.length < cells)
+        {
+            cost = new int[cells];
+        }
+        open.reset(cells);
+    }
+
+    /**
+     * Offers an open neighbour a cheaper way in.
+     *
+     * @param cell the neighbour
+     * @param from the cell being expanded
+     * @param newCost cost of reaching cell through from
+     * @param row row of cell
+     * @param col col of cell
+     */
+    private void relax(int cell, int from, int newCost, int row, int col)
+    {
+        if (!isReached(cell))
+        {
+            reach(cell, from);
+            cost[cell] = newCost;
+            open.push(cell, key(newCost, row, col));
+        }
+        else if (newCost < cost[cell] && open.contains(cell))
+        {
+            reach(cell, from);
+            cost[cell] = newCost;
+            open.decreaseKey(cell, key(newCost, row, col));
+        }
+    }
+
+    /**
+     * Heap key for a cell: the estimated path length, then the
+     * distance left to break ties.
+     *
+     * @param costSoFar steps from the start
+     * @param row the row
+     * @param col the col
+     * @return the key
+     */
+    private long key(int costSoFar, int row, int col)
+    {
+        int remaining = Math.abs(row - goalRow) + Math.abs(col - goalCol);
+        return ((long) (costSoFar + remaining) << ESTIMATE_SHIFT)
+                | remaining;
+    }
+}
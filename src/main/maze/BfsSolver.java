@@ -0,0 +1,79 @@
+package maze;
+
+/**
+ * Breadth first search. Finds a shortest path, visiting cells in
+ * order of distance, with an int [ ] queue and parent array so
+ * nothing is boxed. Repeated solves reuse the arrays.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public final class BfsSolver extends GridSolver
+{
+    private int[] queue = new int[0];
+
+    @Override
+    public MazePath solve(GridView blocked, int startRow, int startCol,
+            int goalRow, int goalCol)
+    {
+        checkCell(blocked, startRow, startCol);
+        checkCell(blocked, goalRow, goalCol);
+        int height = blocked.getHeight();
+        int width = blocked.getWidth();
+        prepare(Math.multiplyExact(height, width));
+
+        int goal = goalRow * width + goalCol;
+        int head = 0;
+        int tail = 0;
+        int first = startRow * width + startCol;
+        reach(first, -1);
+        queue[tail++] = first;
+
+        while (head < tail)
+        {
+            int cell = queue[head++];
+            expand();
+            if (cell == goal)
+            {
+                return trace(goal, width);
+            }
+            int row = cell / width;
+            int col = cell - row * width;
+            if (row > 0 && !blocked.get(row - 1, col)
+                    && !isReached(cell - width))
+            {
+                reach(cell - width, cell);
+                queue[tail++] = cell - width;
+            }
+            if (row < height - 1 && !blocked.get(row + 1, col)
+                    && !isReached(cell + width))
+            {
+                reach(cell + width, cell);
+                queue[tail++] = cell + width;
+            }
+            if (col > 0 && !blocked.get(row, col - 1)
+                    && !isReached(cell - 1))
+            {
+                reach(cell - 1, cell);
+                queue[tail++] = cell - 1;
+            }
+            if (col < width - 1 && !blocked.get(row, col + 1)
+                    && !isReached(cell + 1))
+            {
+                reach(cell + 1, cell);
+                queue[tail++] = cell + 1;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    protected void prepare(int cells)
+    {
+        super.prepare(cells);
+        if (queue.length < cells)
+        {
+            queue = new int[cells];
+        }
+    }
+}
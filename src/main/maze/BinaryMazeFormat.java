@@ -0,0 +1,313 @@
+package maze;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads and writes the compact binary maze format.
+ *
+ * <p>Everything is little endian. The header is the magic bytes
+ * "MAZB", a format version int, then the height, width, start row,
+ * start col, goal row and goal col as ints. The walls follow as the
+ * words of a BitGrid, one row after another, each row padded out
+ * to a whole long. That is about one bit a cell against two bytes
+ * a cell for the text format.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public final class BinaryMazeFormat
+{
+
+    /**
+     * First four bytes of every binary maze, "MAZB".
+     */
+    public static final int MAGIC = 0x42_5A_41_4D;
+
+    /**
+     * Format version written in the header.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Bytes before the wall payload.
+     */
+    public static final int HEADER_BYTES = 32;
+    private static final int COL = 1;
+    private static final int ROW = 0;
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    /**
+     * Utility class, no instances.
+     */
+    private BinaryMazeFormat()
+    {
+    }
+
+    /**
+     * Checks for the magic bytes at the buffer's position.
+     *
+     * @param bytes maze file contents
+     * @return true if bytes look like a binary maze
+     */
+    public static boolean isBinary(ByteBuffer bytes)
+    {
+        int pos = bytes.position();
+        return bytes.remaining() >= Integer.BYTES
+                && bytes.get(pos) == 'M' && bytes.get(pos + 1) == 'A'
+                && bytes.get(pos + 2) == 'Z' && bytes.get(pos + 3) == 'B';
+    }
+
+    /**
+     * Reads a binary maze file.
+     *
+     * @param mazeFile the maze file
+     * @param start gets the [row, col] of the start
+     * @param goal gets the [row, col] of the goal
+     * @return the blocked grid
+     * @throws FileNotFoundException in case not found
+     */
+    public static BitGrid read(String mazeFile, int[] start, int[] goal)
+            throws FileNotFoundException
+    {
+        return read(MazeParser.read(Paths.get(mazeFile)), start, goal);
+    }
+
+    /**
+     * Decodes a binary maze from the buffer's position.
+     * The buffer's position is left alone.
+     *
+     * @param bytes the maze bytes
+     * @param start gets the [row, col] of the start
+     * @param goal gets the [row, col] of the goal
+     * @return the blocked grid
+     * @throws IllegalArgumentException if the bytes are not a binary maze
+     */
+    public static BitGrid read(ByteBuffer bytes, int[] start, int[] goal)
+    {
+        ByteBuffer in = bytes.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        if (in.remaining() < HEADER_BYTES || in.getInt() != MAGIC)
+        {
+            throw new IllegalArgumentException("Not a binary maze");
+        }
+        BitGrid blocked = readHeader(in, bytes.remaining() - HEADER_BYTES,
+                start, goal);
+        in.asLongBuffer().get(blocked.words());
+        checkPadding(blocked);
+        return blocked;
+    }
+
+    /**
+     * Reads a binary maze file too big for one buffer, mapping the
+     * walls a window at a time.
+     *
+     * @param channel the open file
+     * @param window bytes mapped at once, at least a long
+     * @param start gets the [row, col] of the start
+     * @param goal gets the [row, col] of the goal
+     * @return the blocked grid
+     * @throws IOException if the file can not be mapped
+     * @throws IllegalArgumentException if the file is not a binary maze
+     */
+    static BitGrid read(FileChannel channel, int window, int[] start,
+            int[] goal) throws IOException
+    {
+        long size = channel.size();
+        ByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                Math.min(size, HEADER_BYTES)).order(ByteOrder.LITTLE_ENDIAN);
+        if (in.remaining() < HEADER_BYTES || in.getInt() != MAGIC)
+        {
+            throw new IllegalArgumentException("Not a binary maze");
+        }
+        BitGrid blocked = readHeader(in, size - HEADER_BYTES, start, goal);
+        long[] words = blocked.words();
+        int perWindow = window / Long.BYTES;
+        long offset = HEADER_BYTES;
+        for (int next = 0; next < words.length; next += perWindow)
+        {
+            int count = Math.min(words.length - next, perWindow);
+            channel.map(FileChannel.MapMode.READ_ONLY, offset,
+                    (long) count * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN)
+                    .asLongBuffer().get(words, next, count);
+            offset += (long) count * Long.BYTES;
+        }
+        checkPadding(blocked);
+        return blocked;
+    }
+
+    /**
+     * Reads the header after the magic bytes and makes the grid, once
+     * the header is known to be sane: a positive size, enough payload
+     * for the walls, and a start and goal on the board.
+     *
+     * @param in the bytes, little endian, just past the magic bytes
+     * @param payload bytes after the header
+     * @param start gets the [row, col] of the start
+     * @param goal gets the [row, col] of the goal
+     * @return an empty grid of the maze's size
+     * @throws IllegalArgumentException if the header is bad
+     */
+    private static BitGrid readHeader(ByteBuffer in, long payload,
+            int[] start, int[] goal)
+    {
+        int version = in.getInt();
+        if (version != VERSION)
+        {
+            throw new IllegalArgumentException(
+                    "Unknown binary maze version " + version);
+        }
+
+        int height = in.getInt();
+        int width = in.getInt();
+        if (height < 1 || width < 1)
+        {
+            throw new IllegalArgumentException(
+                    "Binary maze must be at least 1 x 1, got " + height
+                    + " x " + width);
+        }
+        long stride = (width + (long) BitGrid.WORD_BITS - 1)
+                >>> BitGrid.ADDRESS_SHIFT;
+        long words = height * stride;
+        if (words > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("Binary maze " + height
+                    + " x " + width + " is too big for one grid");
+        }
+        if (payload < words * Long.BYTES)
+        {
+            throw new IllegalArgumentException("Binary maze is cut short");
+        }
+        readCell(in, height, width, start, "start");
+        readCell(in, height, width, goal, "goal");
+        return new BitGrid(height, width);
+    }
+
+    /**
+     * Reads a [row, col] from the header and checks it is on the board.
+     *
+     * @param in the bytes
+     * @param height rows
+     * @param width cols
+     * @param cell gets the [row, col]
+     * @param name what the cell is, for the message
+     * @throws IllegalArgumentException if the cell is off the board
+     */
+    private static void readCell(ByteBuffer in, int height, int width,
+            int[] cell, String name)
+    {
+        int row = in.getInt();
+        int col = in.getInt();
+        if (row < 0 || row >= height || col < 0 || col >= width)
+        {
+            throw new IllegalArgumentException("Binary maze " + name
+                    + " (" + row + ", " + col + ") is off the board");
+        }
+        cell[ROW] = row;
+        cell[COL] = col;
+    }
+
+    /**
+     * Checks that no row has bits set past the width, since the word
+     * level scans count on that padding being zero.
+     *
+     * @param blocked the grid just read
+     * @throws IllegalArgumentException if padding bits are set
+     */
+    private static void checkPadding(BitGrid blocked)
+    {
+        int tail = blocked.getWidth() & (BitGrid.WORD_BITS - 1);
+        if (tail == 0)
+        {
+            return;
+        }
+        long padding = -1L << tail;
+        long[] words = blocked.words();
+        int stride = blocked.stride();
+        for (int end = stride - 1; end < words.length; end += stride)
+        {
+            if ((words[end] & padding) != 0)
+            {
+                throw new IllegalArgumentException("Binary maze row "
+                        + end / stride + " has bits set past the width");
+            }
+        }
+    }
+
+    /**
+     * Writes a binary maze file, replacing what is there.
+     *
+     * @param mazeFile where to write
+     * @param blocked the walls
+     * @param start the [row, col] of the start
+     * @param goal the [row, col] of the goal
+     * @throws IOException if the file can not be written
+     */
+    public static void write(String mazeFile, BitGrid blocked,
+            int[] start, int[] goal) throws IOException
+    {
+        try (FileChannel out = FileChannel.open(Path.of(mazeFile),
+                StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            write(out, blocked, start, goal);
+        }
+    }
+
+    /**
+     * Writes a binary maze to a channel, a buffer full at a time.
+     *
+     * @param out where to write
+     * @param blocked the walls
+     * @param start the [row, col] of the start
+     * @param goal the [row, col] of the goal
+     * @throws IOException if the channel fails
+     */
+    public static void write(WritableByteChannel out, BitGrid blocked,
+            int[] start, int[] goal) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION)
+                .putInt(blocked.getHeight()).putInt(blocked.getWidth())
+                .putInt(start[ROW]).putInt(start[COL])
+                .putInt(goal[ROW]).putInt(goal[COL]);
+
+        long[] words = blocked.words();
+        int next = 0;
+        while (next < words.length)
+        {
+            int count = Math.min(words.length - next,
+                    buffer.remaining() / Long.BYTES);
+            buffer.asLongBuffer().put(words, next, count);
+            buffer.position(buffer.position() + count * Long.BYTES);
+            next += count;
+            drain(out, buffer);
+        }
+        drain(out, buffer);
+    }
+
+    /**
+     * Writes out everything in the buffer and clears it.
+     *
+     * @param out where to write
+     * @param buffer bytes to write
+     * @throws IOException if the channel fails
+     */
+    static void drain(WritableByteChannel out, ByteBuffer buffer)
+            throws IOException
+    {
+        buffer.flip();
+        while (buffer.hasRemaining())
+        {
+            out.write(buffer);
+        }
+        buffer.clear();
+    }
+}
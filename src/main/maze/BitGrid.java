@@ -0,0 +1,331 @@
+package maze;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A grid of booleans packed 64 cells to a long.
+ * Rows are laid out one after another and each row starts
+ * on a fresh word, so a row is a plain run of longs.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public final class BitGrid implements GridView
+{
+
+    /**
+     * log2 of the bits in a word, turns a column into a word index.
+     */
+    static final int ADDRESS_SHIFT = 6;
+
+    /**
+     * Bits in a word.
+     */
+    static final int WORD_BITS = 1 << ADDRESS_SHIFT;
+    private final int height;
+    private final int width;
+    private final int stride;
+    private final long[] words;
+
+    /**
+     * Makes an all false grid.
+     *
+     * @param height number of rows
+     * @param width number of columns
+     */
+    public BitGrid(int height, int width)
+    {
+        if (height < 0 || width < 0)
+        {
+            throw new IllegalArgumentException(
+                    "Negative grid size " + height + " x " + width);
+        }
+        this.height = height;
+        this.width = width;
+        this.stride = (int) ((width + (long) WORD_BITS - 1)
+                >>> ADDRESS_SHIFT);
+        this.words = new long[Math.multiplyExact(height, stride)];
+    }
+
+    /**
+     * Copy constructor.
+     *
+     * @param other grid to copy
+     */
+    public BitGrid(BitGrid other)
+    {
+        this.height = other.height;
+        this.width = other.width;
+        this.stride = other.stride;
+        this.words = other.words.clone();
+    }
+
+    /**
+     * Packs a boolean [ ] [ ]. Every row must be as long as the
+     * first.
+     *
+     * @param cells the cells to pack
+     * @return the packed grid
+     * @throws IllegalArgumentException if the rows differ in length
+     */
+    public static BitGrid fromArray(boolean[][] cells)
+    {
+        int rows = cells.length;
+        return fromArray(cells, rows, rows == 0 ? 0 : cells[0].length);
+    }
+
+    /**
+     * Packs a boolean [ ] [ ] that must be exactly height by width.
+     *
+     * @param cells the cells to pack
+     * @param height rows wanted
+     * @param width cols wanted in every row
+     * @return the packed grid
+     * @throws IllegalArgumentException if the array is another size
+     */
+    public static BitGrid fromArray(boolean[][] cells, int height,
+            int width)
+    {
+        if (cells.length != height)
+        {
+            throw new IllegalArgumentException("Expected " + height
+                    + " rows, got " + cells.length);
+        }
+        for (int row = 0; row < height; row++)
+        {
+            if (cells[row].length != width)
+            {
+                throw new IllegalArgumentException("Expected row " + row
+                        + " to have " + width + " cols, got "
+                        + cells[row].length);
+            }
+        }
+        BitGrid grid = new BitGrid(height, width);
+        for (int row = 0; row < height; row++)
+        {
+            for (int col = 0; col < grid.width; col++)
+            {
+                if (cells[row][col])
+                {
+                    grid.set(row, col);
+                }
+            }
+        }
+        return grid;
+    }
+
+    @Override
+    public int getHeight()
+    {
+        return height;
+    }
+
+    @Override
+    public int getWidth()
+    {
+        return width;
+    }
+
+    /**
+     * Reads a cell.
+     *
+     * @param row the row
+     * @param col the col
+     * @return the cell
+     * @throws IndexOutOfBoundsException if the cell is off the grid
+     */
+    @Override
+    public boolean get(int row, int col)
+    {
+        return (words[index(row, col)] & (1L << col)) != 0;
+    }
+
+    /**
+     * Sets a cell to true.
+     *
+     * @param row the row
+     * @param col the col
+     * @throws IndexOutOfBoundsException if the cell is off the grid
+     */
+    public void set(int row, int col)
+    {
+        words[index(row, col)] |= 1L << col;
+    }
+
+    /**
+     * Sets a cell to value.
+     *
+     * @param row the row
+     * @param col the col
+     * @param value the new value
+     * @throws IndexOutOfBoundsException if the cell is off the grid
+     */
+    public void set(int row, int col, boolean value)
+    {
+        if (value)
+        {
+            set(row, col);
+        }
+        else
+        {
+            clear(row, col);
+        }
+    }
+
+    /**
+     * Sets a cell to false.
+     *
+     * @param row the row
+     * @param col the col
+     * @throws IndexOutOfBoundsException if the cell is off the grid
+     */
+    public void clear(int row, int col)
+    {
+        words[index(row, col)] &= ~(1L << col);
+    }
+
+    /**
+     * Sets every cell to false.
+     */
+    public void clear()
+    {
+        Arrays.fill(words, 0L);
+    }
+
+    /**
+     * Counts the true cells.
+     *
+     * @return number of cells set
+     */
+    public long cardinality()
+    {
+        long count = 0;
+        for (long word : words)
+        {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Unpacks into a fresh boolean [ ] [ ].
+     *
+     * @return the cells
+     */
+    @Override
+    public boolean[][] toArray()
+    {
+        boolean[][] cells = new boolean[height][width];
+        for (int row = 0; row < height; row++)
+        {
+            for (int col = 0; col < width; col++)
+            {
+                cells[row][col] = get(row, col);
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Wraps this grid so it can be handed out without being changed.
+     * The view still shows later changes made through this grid.
+     *
+     * @return a read-only view
+     */
+    public GridView readOnlyView()
+    {
+        return new ReadOnlyView(this);
+    }
+
+    /**
+     * Finds the word holding a cell. Both checks are needed: a col
+     * past the width but inside the row's last word would land on
+     * padding bits, and a bigger one on the next row.
+     *
+     * @param row the row
+     * @param col the col
+     * @return the word index
+     * @throws IndexOutOfBoundsException if the cell is off the grid
+     */
+    private int index(int row, int col)
+    {
+        return Objects.checkIndex(row, height) * stride
+                + (Objects.checkIndex(col, width) >>> ADDRESS_SHIFT);
+    }
+
+    /**
+     * Words per row.
+     *
+     * @return the stride
+     */
+    int stride()
+    {
+        return stride;
+    }
+
+    /**
+     * The backing words, for code that works a word at a time.
+     * Bits past the width of a row are always zero.
+     *
+     * @return the words, not a copy
+     */
+    long[] words()
+    {
+        return words;
+    }
+
+    @Override
+    public boolean equals(Object other)
+    {
+        if (!(other instanceof BitGrid))
+        {
+            return false;
+        }
+        BitGrid grid = (BitGrid) other;
+        return height == grid.height && width == grid.width
+                && Arrays.equals(words, grid.words);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(height, width, Arrays.hashCode(words));
+    }
+
+    /**
+     * GridView that hides the setters of a BitGrid.
+     */
+    private static final class ReadOnlyView implements GridView
+    {
+        private final BitGrid grid;
+
+        /**
+         * Makes a view.
+         *
+         * @param grid the grid to read
+         */
+        private ReadOnlyView(BitGrid grid)
+        {
+            this.grid = grid;
+        }
+
+        @Override
+        public int getHeight()
+        {
+            return grid.height;
+        }
+
+        @Override
+        public int getWidth()
+        {
+            return grid.width;
+        }
+
+        @Override
+        public boolean get(int row, int col)
+        {
+            return grid.get(row, col);
+        }
+    }
+}
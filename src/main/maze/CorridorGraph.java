@@ -0,0 +1,488 @@
+package maze;
+
+import java.util.Arrays;
+
+/**
+ * A maze boiled down to the cells where something happens: junctions,
+ * dead ends, the start and the goal. Every other open cell sits on a
+ * corridor with exactly two ways out, and a whole corridor becomes
+ * one edge weighted by its length. Searches on the graph skip the
+ * corridors, and their answers expand back into grid paths.
+ *
+ * <p>Edges are stored in compressed rows: the edges out of node n
+ * are numbers edgeBegin(n) up to edgeEnd(n). Each corridor shows up
+ * once from each end. Corridors that loop back to where they started
+ * are left out, as they are never on a shortest path.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public final class CorridorGraph
+{
+
+    /**
+     * The moves, indexed by the direction numbers used for edges.
+     */
+    private static final Move[] DIRECTIONS =
+        {Move.UP, Move.DOWN, Move.LEFT, Move.RIGHT};
+    private final GridView blocked;
+    private final int width;
+    private final BitGrid isNode;
+    private final int[] nodeCells;
+    private final int[] edgeOffsets;
+    private final int[] edgeSources;
+    private final int[] edgeTargets;
+    private final int[] edgeLengths;
+    private final byte[] edgeDirections;
+    private final int startNode;
+    private final int goalNode;
+
+    /**
+     * Finds the nodes and traces the corridors between them.
+     *
+     * @param blocked the walls
+     * @param start the [row, col] of the start
+     * @param goal the [row, col] of the goal
+     */
+    private CorridorGraph(GridView blocked, int[] start, int[] goal)
+    {
+        this.blocked = blocked;
+        int height = blocked.getHeight();
+        this.width = blocked.getWidth();
+        this.isNode = new BitGrid(height, width);
+
+        int count = 0;
+        int[] cells = new int[Math.max(1, height)];
+        for (int row = 0; row < height; row++)
+        {
+            for (int col = 0; col < width; col++)
+            {
+                if (!blocked.get(row, col) && (degree(row, col) != 2
+                        || row == start[0] && col == start[1]
+                        || row == goal[0] && col == goal[1]))
+                {
+                    isNode.set(row, col);
+                    if (count == cells.length)
+                    {
+                        cells = Arrays.copyOf(cells, count * 2);
+                    }
+                    cells[count++] = row * width + col;
+                }
+            }
+        }
+        this.nodeCells = Arrays.copyOf(cells, count);
+
+        this.edgeOffsets = new int[count + 1];
+        int[] sources = new int[count * 2 + 1];
+        int[] targets = new int[sources.length];
+        int[] lengths = new int[targets.length];
+        byte[] dirs = new byte[targets.length];
+        int edges = 0;
+        int[] end = new int[2];
+        for (int node = 0; node < count; node++)
+        {
+            edgeOffsets[node] = edges;
+            int row = nodeCells[node] / width;
+            int col = nodeCells[node] % width;
+            for (int dir = 0; dir < DIRECTIONS.length; dir++)
+            {
+                int length = walk(row, col, dir, null, 0, end);
+                int target = length < 0 ? -1 : nodeAt(end[0], end[1]);
+                if (target < 0 || target == node)
+                {
+                    continue;
+                }
+                if (edges == targets.length)
+                {
+                    sources = Arrays.copyOf(sources, edges * 2);
+                    targets = Arrays.copyOf(targets, edges * 2);
+                    lengths = Arrays.copyOf(lengths, edges * 2);
+                    dirs = Arrays.copyOf(dirs, edges * 2);
+                }
+                sources[edges] = node;
+                targets[edges] = target;
+                lengths[edges] = length;
+                dirs[edges] = (byte) dir;
+                edges++;
+            }
+        }
+        edgeOffsets[count] = edges;
+        this.edgeSources = Arrays.copyOf(sources, edges);
+        this.edgeTargets = Arrays.copyOf(targets, edges);
+        this.edgeLengths = Arrays.copyOf(lengths, edges);
+        this.edgeDirections = Arrays.copyOf(dirs, edges);
+        this.startNode = nodeAt(start[0], start[1]);
+        this.goalNode = nodeAt(goal[0], goal[1]);
+    }
+
+    /**
+     * Builds the graph of a maze. The start and goal are always
+     * nodes, as long as they are open.
+     *
+     * @param blocked the walls, read again when paths are expanded
+     * @param startRow start row
+     * @param startCol start col
+     * @param goalRow goal row
+     * @param goalCol goal col
+     * @return the graph
+     * @throws IllegalArgumentException if start or goal is off the grid
+     */
+    public static CorridorGraph build(GridView blocked, int startRow,
+            int startCol, int goalRow, int goalCol)
+    {
+        GridSolver.checkCell(blocked, startRow, startCol);
+        GridSolver.checkCell(blocked, goalRow, goalCol);
+        return new CorridorGraph(blocked, new int[] {startRow, startCol},
+                new int[] {goalRow, goalCol});
+    }
+
+    /**
+     * Builds the graph of a game, starting from where the player
+     * stands. The graph reads the game's walls through its live view,
+     * so it must be built again if they change.
+     *
+     * @param game the game
+     * @return the graph
+     */
+    public static CorridorGraph build(MazeGame game)
+    {
+        return build(game.getBlockedView(), game.getPlayerRow(),
+                game.getPlayerCol(), game.getGoalRow(), game.getGoalCol());
+    }
+
+    /**
+     * Gets the number of nodes.
+     *
+     * @return the node count
+     */
+    public int getNodeCount()
+    {
+        return nodeCells.length;
+    }
+
+    /**
+     * Gets the number of edges, counting each corridor from both ends.
+     *
+     * @return the edge count
+     */
+    public int getEdgeCount()
+    {
+        return edgeTargets.length;
+    }
+
+    /**
+     * Gets the node on a cell.
+     *
+     * @param row the row
+     * @param col the col
+     * @return the node, or -1 if the cell is not a node
+     */
+    public int nodeAt(int row, int col)
+    {
+        if (row < 0 || row >= isNode.getHeight() || col < 0 || col >= width
+                || !isNode.get(row, col))
+        {
+            return -1;
+        }
+        return Arrays.binarySearch(nodeCells, row * width + col);
+    }
+
+    /**
+     * Gets the row of a node.
+     *
+     * @param node the node
+     * @return its row
+     */
+    public int getNodeRow(int node)
+    {
+        return nodeCells[node] / width;
+    }
+
+    /**
+     * Gets the col of a node.
+     *
+     * @param node the node
+     * @return its col
+     */
+    public int getNodeCol(int node)
+    {
+        return nodeCells[node] % width;
+    }
+
+    /**
+     * Gets the start node.
+     *
+     * @return the start, or -1 if it is a wall
+     */
+    public int getStartNode()
+    {
+        return startNode;
+    }
+
+    /**
+     * Gets the goal node.
+     *
+     * @return the goal, or -1 if it is a wall
+     */
+    public int getGoalNode()
+    {
+        return goalNode;
+    }
+
+    /**
+     * Gets the first edge out of a node.
+     *
+     * @param node the node
+     * @return the first edge number
+     */
+    public int edgeBegin(int node)
+    {
+        return edgeOffsets[node];
+    }
+
+    /**
+     * Gets one past the last edge out of a node.
+     *
+     * @param node the node
+     * @return the end edge number
+     */
+    public int edgeEnd(int node)
+    {
+        return edgeOffsets[node + 1];
+    }
+
+    /**
+     * Gets the node an edge comes from.
+     *
+     * @param edge the edge
+     * @return its source
+     */
+    public int getEdgeSource(int edge)
+    {
+        return edgeSources[edge];
+    }
+
+    /**
+     * Gets the node an edge leads to.
+     *
+     * @param edge the edge
+     * @return its target
+     */
+    public int getEdgeTarget(int edge)
+    {
+        return edgeTargets[edge];
+    }
+
+    /**
+     * Gets the number of moves along an edge.
+     *
+     * @param edge the edge
+     * @return its length
+     */
+    public int getEdgeLength(int edge)
+    {
+        return edgeLengths[edge];
+    }
+
+    /**
+     * Gets the first move along an edge.
+     *
+     * @param edge the edge
+     * @return the move out of its source
+     */
+    public Move getEdgeMove(int edge)
+    {
+        return DIRECTIONS[edgeDirections[edge]];
+    }
+
+    /**
+     * Finds a shortest path from the start to the goal with Dijkstra's
+     * search over the graph, expanded back into grid cells.
+     *
+     * @return the path, or null if the goal can not be reached
+     */
+    public MazePath solve()
+    {
+        if (startNode < 0 || goalNode < 0)
+        {
+            return null;
+        }
+        int count = nodeCells.length;
+        int[] cost = new int[count];
+        int[] via = new int[count];
+        Arrays.fill(cost, Integer.MAX_VALUE);
+        IndexedMinHeap open = new IndexedMinHeap();
+        open.reset(count);
+        cost[startNode] = 0;
+        via[startNode] = -1;
+        open.push(startNode, 0);
+
+        while (!open.isEmpty())
+        {
+            int node = open.pop();
+            if (node == goalNode)
+            {
+                break;
+            }
+            for (int edge = edgeBegin(node); edge < edgeEnd(node); edge++)
+            {
+                int target = edgeTargets[edge];
+                int newCost = cost[node] + edgeLengths[edge];
+                if (newCost < cost[target])
+                {
+                    boolean queued = cost[target] != Integer.MAX_VALUE;
+                    cost[target] = newCost;
+                    via[target] = edge;
+                    if (queued && open.contains(target))
+                    {
+                        open.decreaseKey(target, newCost);
+                    }
+                    else if (!queued)
+                    {
+                        open.push(target, newCost);
+                    }
+                }
+            }
+        }
+        if (cost[goalNode] == Integer.MAX_VALUE)
+        {
+            return null;
+        }
+
+        int hops = 0;
+        for (int node = goalNode; via[node] >= 0;
+                node = edgeSources[via[node]])
+        {
+            hops++;
+        }
+        int[] edges = new int[hops];
+        for (int node = goalNode; via[node] >= 0;
+                node = edgeSources[via[node]])
+        {
+            edges[--hops] = via[node];
+        }
+        return expand(edges);
+    }
+
+    /**
+     * Turns a chain of edges into the grid cells they run through.
+     *
+     * @param edges edges, each starting where the last one ended
+     * @return the path, starting on the source of the first edge,
+     *         or just the start if there are no edges
+     * @throws IllegalArgumentException if the edges do not chain
+     */
+    public MazePath expand(int... edges)
+    {
+        int length = 0;
+        for (int i = 0; i < edges.length; i++)
+        {
+            if (i > 0
+                    && edgeSources[edges[i]] != edgeTargets[edges[i - 1]])
+            {
+                throw new IllegalArgumentException("Edge " + edges[i]
+                        + " does not start where edge " + edges[i - 1]
+                        + " ends");
+            }
+            length += edgeLengths[edges[i]];
+        }
+        int[] cells = new int[length + 1];
+        cells[0] = edges.length == 0 ? nodeCells[Math.max(startNode, 0)]
+                : nodeCells[edgeSources[edges[0]]];
+        int at = 1;
+        int[] end = new int[2];
+        for (int edge : edges)
+        {
+            int from = nodeCells[edgeSources[edge]];
+            walk(from / width, from % width, edgeDirections[edge],
+                    cells, at, end);
+            at += edgeLengths[edge];
+        }
+        return new MazePath(width, cells);
+    }
+
+    /**
+     * Counts the open neighbours of a cell.
+     *
+     * @param row the row
+     * @param col the col
+     * @return 0 to 4
+     */
+    private int degree(int row, int col)
+    {
+        int degree = 0;
+        for (Move move : DIRECTIONS)
+        {
+            if (open(row + move.getRowStep(), col + move.getColStep()))
+            {
+                degree++;
+            }
+        }
+        return degree;
+    }
+
+    /**
+     * Checks that a cell is on the grid and not a wall.
+     *
+     * @param row the row
+     * @param col the col
+     * @return true if open
+     */
+    private boolean open(int row, int col)
+    {
+        return row >= 0 && row < isNode.getHeight() && col >= 0
+                && col < width && !blocked.get(row, col);
+    }
+
+    /**
+     * Follows a corridor from a node until the next node.
+     *
+     * @param row the node's row
+     * @param col the node's col
+     * @param dir the direction to leave in
+     * @param cells gets each cell after the node, or null
+     * @param at where in cells the first one goes
+     * @param end gets the [row, col] of the node reached
+     * @return the corridor length, or -1 if dir is walled off
+     */
+    private int walk(int row, int col, int dir, int[] cells, int at,
+            int[] end)
+    {
+        Move move = DIRECTIONS[dir];
+        int length = 0;
+        while (true)
+        {
+            int nextRow = row + move.getRowStep();
+            int nextCol = col + move.getColStep();
+            if (!open(nextRow, nextCol))
+            {
+                return -1;
+            }
+            row = nextRow;
+            col = nextCol;
+            length++;
+            if (cells != null)
+            {
+                cells[at + length - 1] = row * width + col;
+            }
+            if (isNode.get(row, col))
+            {
+                end[0] = row;
+                end[1] = col;
+                return length;
+            }
+            for (Move turn : DIRECTIONS)
+            {
+                if (turn.getRowStep() != -move.getRowStep()
+                        || turn.getColStep() != -move.getColStep())
+                {
+                    if (open(row + turn.getRowStep(), col + turn.getColStep()))
+                    {
+                        move = turn;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package maze;
+
+/**
+ * How far every open cell is from the goal, found with one breadth
+ * first search out of the goal. After that, the distance and the best
+ * move from any cell are lookups. Distances are kept one per cell in
+ * a flat int [ ], plus one so that a fresh array means unreachable.
+ *
+ * <p>A field is only good for the walls and goal it was computed
+ * for. It never changes once made, so it can be shared.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public final class DistanceField
+{
+    private final int height;
+    private final int width;
+    private final int goalRow;
+    private final int goalCol;
+    private final int[] steps;
+
+    /**
+     * Wraps computed distances.
+     *
+     * @param height rows
+     * @param width cols
+     * @param goalRow the goal row
+     * @param goalCol the goal col
+     * @param steps distance plus one per cell, 0 for unreachable
+     */
+    private DistanceField(int height, int width, int goalRow, int goalCol,
+            int[] steps)
+    {
+        this.height = height;
+        this.width = width;
+        this.goalRow = goalRow;
+        this.goalCol = goalCol;
+        this.steps = steps;
+    }
+
+    /**
+     * Measures every open cell's distance to the goal.
+     *
+     * @param blocked the walls
+     * @param goalRow the goal row
+     * @param goalCol the goal col
+     * @return the distances
+     * @throws IllegalArgumentException if the goal is off the grid
+     */
+    public static DistanceField compute(GridView blocked, int goalRow,
+            int goalCol)
+    {
+        GridSolver.checkCell(blocked, goalRow, goalCol);
+        int height = blocked.getHeight();
+        int width = blocked.getWidth();
+        int[] steps = new int[Math.multiplyExact(height, width)];
+        int[] queue = new int[steps.length];
+        int head = 0;
+        int tail = 0;
+        int goal = goalRow * width + goalCol;
+        steps[goal] = 1;
+        queue[tail++] = goal;
+
+        while (head < tail)
+        {
+            int cell = queue[head++];
+            int next = steps[cell] + 1;
+            int row = cell / width;
+            int col = cell - row * width;
+            if (row > 0 && steps[cell - width] == 0
+                    && !blocked.get(row - 1, col))
+            {
+                steps[cell - width] = next;
+                queue[tail++] = cell - width;
+            }
+            if (row < height - 1 && steps[cell + width] == 0
+                    && !blocked.get(row + 1, col))
+            {
+                steps[cell + width] = next;
+                queue[tail++] = cell + width;
+            }
+            if (col > 0 && steps[cell - 1] == 0
+                    && !blocked.get(row, col - 1))
+            {
+                steps[cell - 1] = next;
+                queue[tail++] = cell - 1;
+            }
+            if (col < width - 1 && steps[cell + 1] == 0
+                    && !blocked.get(row, col + 1))
+            {
+                steps[cell + 1] = next;
+                queue[tail++] = cell + 1;
+            }
+        }
+        return new DistanceField(height, width, goalRow, goalCol, steps);
+    }
+
+    /**
+     * Gets the number of moves from a cell to the goal.
+     *
+     * @param row the row
+     * @param col the col
+     * @return the distance, or -1 if the goal can not be reached
+     *         or the cell is off the grid
+     */
+    public int distance(int row, int col)
+    {
+        if (row < 0 || row >= height || col < 0 || col >= width)
+        {
+            return -1;
+        }
+        return steps[row * width + col] - 1;
+    }
+
+    /**
+     * Gets a move from a cell that takes it one step nearer the goal.
+     *
+     * @param row the row
+     * @param col the col
+     * @return the move, or null on the goal or where it can not be
+     *         reached
+     */
+    public Move bestMove(int row, int col)
+    {
+        int here = distance(row, col);
+        if (here <= 0)
+        {
+            return null;
+        }
+        if (distance(row - 1, col) == here - 1)
+        {
+            return Move.UP;
+        }
+        if (distance(row + 1, col) == here - 1)
+        {
+            return Move.DOWN;
+        }
+        if (distance(row, col - 1) == here - 1)
+        {
+            return Move.LEFT;
+        }
+        return Move.RIGHT;
+    }
+
+    /**
+     * Gets the goal row the field was computed for.
+     *
+     * @return the goal row
+     */
+    public int getGoalRow()
+    {
+        return goalRow;
+    }
+
+    /**
+     * Gets the goal col the field was computed for.
+     *
+     * @return the goal col
+     */
+    public int getGoalCol()
+    {
+        return goalCol;
+    }
+}
@@ -0,0 +1,462 @@
+package maze;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Streams perfect mazes of any height straight to a file with
+ * Eller's algorithm. Only the current row of rooms is kept: which set
+ * each room is in, a union find over the set labels, and the bits of
+ * the grid row being written. Memory grows with the width and not at
+ * all with the height, so mazes far bigger than the heap can be made
+ * to stress the loader.
+ *
+ * <p>The layout matches SeededMazeGenerator: rooms on the even cells,
+ * S in the top left room and G in the bottom right room. Text files
+ * start with a "# rows cols" header so the parser need not count the
+ * rows; binary files use BinaryMazeFormat.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public final class EllerMazeWriter
+{
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    /**
+     * Utility class, no instances.
+     */
+    private EllerMazeWriter()
+    {
+    }
+
+    /**
+     * Writes a text maze file, replacing what is there.
+     *
+     * @param mazeFile where to write
+     * @param height rows, at least 1
+     * @param width cols, at least 1
+     * @param random the randomness; it is advanced, not copied
+     * @throws IOException if the file can not be written
+     * @throws IllegalArgumentException if a size is below 1
+     */
+    public static void writeText(String mazeFile, int height, int width,
+            SplittableRandom random) throws IOException
+    {
+        try (FileChannel out = open(mazeFile))
+        {
+            writeText(out, height, width, random);
+        }
+    }
+
+    /**
+     * Writes a text maze to a channel.
+     *
+     * @param out where to write
+     * @param height rows, at least 1
+     * @param width cols, at least 1
+     * @param random the randomness; it is advanced, not copied
+     * @throws IOException if the channel fails
+     * @throws IllegalArgumentException if a size is below 1
+     */
+    public static void writeText(WritableByteChannel out, int height,
+            int width, SplittableRandom random) throws IOException
+    {
+        new Rows(out, height, width, false).write(random);
+    }
+
+    /**
+     * Writes a binary maze file, replacing what is there.
+     *
+     * @param mazeFile where to write
+     * @param height rows, at least 1
+     * @param width cols, at least 1
+     * @param random the randomness; it is advanced, not copied
+     * @throws IOException if the file can not be written
+     * @throws IllegalArgumentException if a size is below 1
+     */
+    public static void writeBinary(String mazeFile, int height, int width,
+            SplittableRandom random) throws IOException
+    {
+        try (FileChannel out = open(mazeFile))
+        {
+            writeBinary(out, height, width, random);
+        }
+    }
+
+    /**
+     * Writes a binary maze to a channel.
+     *
+     * @param out where to write
+     * @param height rows, at least 1
+     * @param width cols, at least 1
+     * @param random the randomness; it is advanced, not copied
+     * @throws IOException if the channel fails
+     * @throws IllegalArgumentException if a size is below 1
+     */
+    public static void writeBinary(WritableByteChannel out, int height,
+            int width, SplittableRandom random) throws IOException
+    {
+        new Rows(out, height, width, true).write(random);
+    }
+
+    /**
+     * Opens a file for writing from scratch.
+     *
+     * @param mazeFile the file
+     * @return the channel
+     * @throws IOException if it can not be opened
+     */
+    private static FileChannel open(String mazeFile) throws IOException
+    {
+        return FileChannel.open(Path.of(mazeFile),
+                StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * The one row of state Eller's algorithm needs, and the buffer
+     * the grid rows go out through.
+     */
+    private static final class Rows
+    {
+        private final WritableByteChannel out;
+        private final ByteBuffer buffer;
+        private final boolean binary;
+        private final int height;
+        private final int width;
+        private final int rooms;
+        private final int goalRow;
+        private final int goalCol;
+        private final int[] set;
+        private final int[] parent;
+        private final boolean[] joinRight;
+        private final boolean[] down;
+        private final int[] downs;
+        private final int[] seen;
+        private final int[] chosen;
+        private final boolean[] used;
+        private final long[] words;
+
+        /**
+         * Sets up the row state.
+         *
+         * @param out where to write
+         * @param height rows
+         * @param width cols
+         * @param binary true for BinaryMazeFormat, false for text
+         */
+        private Rows(WritableByteChannel out, int height, int width,
+                boolean binary)
+        {
+            if (height < 1 || width < 1)
+            {
+                throw new IllegalArgumentException(
+                        "Maze must be at least 1 x 1, got " + height
+                        + " x " + width);
+            }
+            this.out = out;
+            this.buffer = ByteBuffer.allocateDirect(BUFFER_BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            this.binary = binary;
+            this.height = height;
+            this.width = width;
+            this.rooms = (width + 1) / 2;
+            this.goalRow = (height - 1) & ~1;
+            this.goalCol = (width - 1) & ~1;
+            this.set = new int[rooms];
+            this.parent = new int[rooms];
+            this.joinRight = new boolean[rooms];
+            this.down = new boolean[rooms];
+            this.downs = new int[rooms];
+            this.seen = new int[rooms];
+            this.chosen = new int[rooms];
+            this.used = new boolean[rooms];
+            this.words = new long[(width + BitGrid.WORD_BITS - 1)
+                    >>> BitGrid.ADDRESS_SHIFT];
+        }
+
+        /**
+         * Carves and writes the whole maze, a row of rooms at a time.
+         * Each row joins some neighbours in different sets, then
+         * every set drops at least one room into the next row. The
+         * last row joins everything still apart.
+         *
+         * @param random the randomness
+         * @throws IOException if the channel fails
+         */
+        private void write(SplittableRandom random) throws IOException
+        {
+            writeHeader();
+            for (int room = 0; room < rooms; room++)
+            {
+                set[room] = room;
+            }
+            int roomRows = (height + 1) / 2;
+            for (int roomRow = 0; roomRow < roomRows; roomRow++)
+            {
+                boolean last = roomRow == roomRows - 1;
+                joinAcross(random, last);
+                writeRoomRow(2 * roomRow);
+                if (last)
+                {
+                    if (2 * roomRow + 1 < height)
+                    {
+                        Arrays.fill(down, false);
+                        writeDownRow(2 * roomRow + 1);
+                    }
+                    break;
+                }
+                dropDown(random);
+                writeDownRow(2 * roomRow + 1);
+                relabel();
+            }
+            BinaryMazeFormat.drain(out, buffer);
+        }
+
+        /**
+         * Joins neighbours in different sets at random, or always on
+         * the last row, and leaves every room labelled with its root.
+         *
+         * @param random the randomness
+         * @param last true on the last row of rooms
+         */
+        private void joinAcross(SplittableRandom random, boolean last)
+        {
+            for (int label = 0; label < rooms; label++)
+            {
+                parent[label] = label;
+            }
+            for (int room = 0; room < rooms - 1; room++)
+            {
+                int a = find(set[room]);
+                int b = find(set[room + 1]);
+                joinRight[room] = a != b && (last || random.nextBoolean());
+                if (joinRight[room])
+                {
+                    parent[b] = a;
+                }
+            }
+            joinRight[rooms - 1] = false;
+            for (int room = 0; room < rooms; room++)
+            {
+                set[room] = find(set[room]);
+            }
+        }
+
+        /**
+         * Opens the floor of rooms at random, then makes sure every set
+         * goes down somewhere by opening one of its rooms picked by
+         * reservoir sampling.
+         *
+         * @param random the randomness
+         */
+        private void dropDown(SplittableRandom random)
+        {
+            Arrays.fill(downs, 0);
+            Arrays.fill(seen, 0);
+            for (int room = 0; room < rooms; room++)
+            {
+                int label = set[room];
+                seen[label]++;
+                if (random.nextInt(seen[label]) == 0)
+                {
+                    chosen[label] = room;
+                }
+                down[room] = random.nextBoolean();
+                if (down[room])
+                {
+                    downs[label]++;
+                }
+            }
+            for (int room = 0; room < rooms; room++)
+            {
+                int label = set[room];
+                if (downs[label] == 0)
+                {
+                    down[chosen[label]] = true;
+                    downs[label] = 1;
+                }
+            }
+        }
+
+        /**
+         * Gives the rooms that were not dropped into fresh sets for
+         * the next row. Labels stay below the room count, since a row
+         * never has more sets than rooms.
+         */
+        private void relabel()
+        {
+            Arrays.fill(used, false);
+            for (int room = 0; room < rooms; room++)
+            {
+                if (down[room])
+                {
+                    used[set[room]] = true;
+                }
+            }
+            int free = 0;
+            for (int room = 0; room < rooms; room++)
+            {
+                if (!down[room])
+                {
+                    while (used[free])
+                    {
+                        free++;
+                    }
+                    used[free] = true;
+                    set[room] = free;
+                }
+            }
+        }
+
+        /**
+         * Finds the root of a label, halving the path on the way.
+         *
+         * @param label the label
+         * @return its root
+         */
+        private int find(int label)
+        {
+            while (parent[label] != label)
+            {
+                parent[label] = parent[parent[label]];
+                label = parent[label];
+            }
+            return label;
+        }
+
+        /**
+         * Writes the grid row through a row of rooms.
+         *
+         * @param row the grid row
+         * @throws IOException if the channel fails
+         */
+        private void writeRoomRow(int row) throws IOException
+        {
+            fillWalls();
+            for (int room = 0; room < rooms; room++)
+            {
+                clear(2 * room);
+                if (joinRight[room])
+                {
+                    clear(2 * room + 1);
+                }
+            }
+            writeRow(row);
+        }
+
+        /**
+         * Writes the grid row under a row of rooms.
+         *
+         * @param row the grid row
+         * @throws IOException if the channel fails
+         */
+        private void writeDownRow(int row) throws IOException
+        {
+            fillWalls();
+            for (int room = 0; room < rooms; room++)
+            {
+                if (down[room])
+                {
+                    clear(2 * room);
+                }
+            }
+            writeRow(row);
+        }
+
+        /**
+         * Walls off the whole row, keeping the bits past the width
+         * zero like a BitGrid row.
+         */
+        private void fillWalls()
+        {
+            Arrays.fill(words, -1L);
+            int tail = width & (BitGrid.WORD_BITS - 1);
+            if (tail != 0)
+            {
+                words[words.length - 1] = (1L << tail) - 1;
+            }
+        }
+
+        /**
+         * Opens a cell of the row.
+         *
+         * @param col the col
+         */
+        private void clear(int col)
+        {
+            words[col >>> BitGrid.ADDRESS_SHIFT] &= ~(1L << col);
+        }
+
+        /**
+         * Puts the header in the buffer.
+         */
+        private void writeHeader()
+        {
+            if (binary)
+            {
+                buffer.putInt(BinaryMazeFormat.MAGIC)
+                        .putInt(BinaryMazeFormat.VERSION)
+                        .putInt(height).putInt(width).putInt(0).putInt(0)
+                        .putInt(goalRow).putInt(goalCol);
+            }
+            else
+            {
+                byte[] header = ("# " + height + " " + width + "\n")
+                        .getBytes(StandardCharsets.US_ASCII);
+                buffer.put(header);
+            }
+        }
+
+        /**
+         * Sends the finished row through the buffer, as longs or as
+         * text tokens with S and G in place.
+         *
+         * @param row the grid row
+         * @throws IOException if the channel fails
+         */
+        private void writeRow(int row) throws IOException
+        {
+            if (binary)
+            {
+                for (long word : words)
+                {
+                    if (buffer.remaining() < Long.BYTES)
+                    {
+                        BinaryMazeFormat.drain(out, buffer);
+                    }
+                    buffer.putLong(word);
+                }
+                return;
+            }
+            for (int col = 0; col < width; col++)
+            {
+                if (buffer.remaining() < 2)
+                {
+                    BinaryMazeFormat.drain(out, buffer);
+                }
+                byte token = (words[col >>> BitGrid.ADDRESS_SHIFT]
+                        & (1L << col)) != 0 ? (byte) '1' : (byte) '0';
+                if (row == 0 && col == 0)
+                {
+                    token = 'S';
+                }
+                else if (row == goalRow && col == goalCol)
+                {
+                    token = 'G';
+                }
+                buffer.put(token);
+                buffer.put(col == width - 1 ? (byte) '\n' : (byte) ' ');
+            }
+        }
+    }
+}
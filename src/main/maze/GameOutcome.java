@@ -0,0 +1,25 @@
+package maze;
+
+/**
+ * How a run of moves left a MazeGame.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public enum GameOutcome
+{
+    /**
+     * The player reached the goal.
+     */
+    WON,
+
+    /**
+     * The moves included a quit.
+     */
+    QUIT,
+
+    /**
+     * The moves ran out before the goal or a quit.
+     */
+    UNFINISHED
+}
@@ -0,0 +1,139 @@
+package maze;
+
+import java.util.Arrays;
+
+/**
+ * Scratch space shared by the grid searches. Cells are numbered
+ * row * width + col. Instead of clearing its arrays before each
+ * solve, a solver bumps a stamp, and a cell counts as reached only
+ * if it carries the current stamp.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+abstract class GridSolver implements MazeSolver
+{
+
+    private int[] parent = new int[0];
+    private int[] reached = new int[0];
+    private int stamp;
+    private long expanded;
+
+    /**
+     * Readies the scratch arrays for a grid, growing them if needed.
+     * Subclasses growing their own arrays should override, call this,
+     * and size theirs to match.
+     *
+     * @param cells number of cells in the grid
+     */
+    protected void prepare(int cells)
+    {
+        if (reached.length < cells)
+        {
+            parent = new int[cells];
+            reached = new int[cells];
+            stamp = 0;
+        }
+        expanded = 0;
+        stamp++;
+        if (stamp == 0)
+        {
+            Arrays.fill(reached, 0);
+            stamp = 1;
+        }
+    }
+
+    /**
+     * Gets how many cells the last solve expanded, a measure of the
+     * work it did.
+     *
+     * @return cells expanded
+     */
+    public long getExpanded()
+    {
+        return expanded;
+    }
+
+    /**
+     * Counts one expanded cell.
+     */
+    protected final void expand()
+    {
+        expanded++;
+    }
+
+    /**
+     * Checks whether a cell was reached in this solve.
+     *
+     * @param cell the cell
+     * @return true if reached
+     */
+    protected final boolean isReached(int cell)
+    {
+        return reached[cell] == stamp;
+    }
+
+    /**
+     * Marks a cell reached.
+     *
+     * @param cell the cell
+     * @param from the cell it was reached from, -1 for the start
+     */
+    protected final void reach(int cell, int from)
+    {
+        reached[cell] = stamp;
+        parent[cell] = from;
+    }
+
+    /**
+     * Gets the cell a reached cell was reached from.
+     *
+     * @param cell the cell, reached
+     * @return its parent, -1 for the start
+     */
+    protected final int parentOf(int cell)
+    {
+        return parent[cell];
+    }
+
+    /**
+     * Follows parents back from goal to build the path.
+     *
+     * @param goal the goal cell, reached
+     * @param width width of the grid
+     * @return the path
+     */
+    protected final MazePath trace(int goal, int width)
+    {
+        int length = 1;
+        for (int cell = goal; parent[cell] >= 0; cell = parent[cell])
+        {
+            length++;
+        }
+        int[] cells = new int[length];
+        for (int cell = goal, i = length - 1; i >= 0; cell = parent[cell])
+        {
+            cells[i--] = cell;
+        }
+        return new MazePath(width, cells);
+    }
+
+    /**
+     * Throws if a cell is off the grid.
+     *
+     * @param blocked the grid
+     * @param row the row
+     * @param col the col
+     * @throws IllegalArgumentException if off the grid
+     */
+    protected static void checkCell(GridView blocked, int row, int col)
+    {
+        if (row < 0 || row >= blocked.getHeight()
+                || col < 0 || col >= blocked.getWidth())
+        {
+            throw new IllegalArgumentException("Cell (" + row + ", " + col
+                    + ") is off the " + blocked.getHeight() + " x "
+                    + blocked.getWidth() + " grid");
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package maze;
+
+/**
+ * Read-only access to a grid of booleans, such as the walls or the
+ * visited cells of a MazeGame. Reading through a view copies nothing.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public interface GridView
+{
+    /**
+     * Gets the number of rows.
+     *
+     * @return the height
+     */
+    int getHeight();
+
+    /**
+     * Gets the number of columns.
+     *
+     * @return the width
+     */
+    int getWidth();
+
+    /**
+     * Reads a cell. Row and col must be on the grid.
+     *
+     * @param row the row
+     * @param col the col
+     * @return the cell
+     */
+    boolean get(int row, int col);
+
+    /**
+     * Copies the grid out into a fresh boolean [ ] [ ].
+     *
+     * @return the cells
+     */
+    default boolean[][] toArray()
+    {
+        boolean[][] cells = new boolean[getHeight()][getWidth()];
+        for (int row = 0; row < cells.length; row++)
+        {
+            for (int col = 0; col < cells[row].length; col++)
+            {
+                cells[row][col] = get(row, col);
+            }
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,828 @@
+package maze;
+
+import java.util.Arrays;
+
+/**
+ * Hierarchical path planning in the style of HPA*. The grid is cut
+ * into square clusters. Where a run of open cells crosses from one
+ * cluster into the next, the middle of the run becomes an entrance
+ * node on both sides, and the distances between the entrances of each
+ * cluster are worked out once up front. A query then searches only
+ * the entrance graph and fills in the steps one cluster at a time,
+ * so on huge mazes it touches a small fraction of the cells.
+ *
+ * <p>Paths always walk open cells and are found whenever one exists,
+ * but they can be a little longer than the shortest, since each
+ * crossing goes through the middle of its run.
+ *
+ * <p>The planner reads its grid live. Register it with
+ * MazeGame.addEditListener, or call cellChanged after writing a
+ * cell, and only the clusters next to the edit are rebuilt.
+ * Like the solvers, one planner must not be shared between threads.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public final class HierarchicalPlanner implements MazeEditListener
+{
+
+    /**
+     * Cluster side used when none is given.
+     */
+    public static final int DEFAULT_CLUSTER = 16;
+
+    /**
+     * Distance between entrances with no way between them.
+     */
+    private static final int INF = Integer.MAX_VALUE;
+
+    /**
+     * Shifts the estimate above the tie breaker in a heap key.
+     */
+    private static final int ESTIMATE_SHIFT = 32;
+    private final GridView walls;
+    private final int size;
+    private final int span;
+    private final IndexedMinHeap open = new IndexedMinHeap();
+    private int height;
+    private int width;
+    private int clusterRows;
+    private int clusterCols;
+    private int[][] entrances;
+    private int[][] costs;
+    private int[] base;
+    private boolean numbered;
+    private final int[] local;
+    private final boolean[] closed;
+    private final long[] openRows;
+    private final long[] seenRows;
+    private final long[] frontRows;
+    private final long[] grownRows;
+    private final int[] entranceRows;
+    private final long[] entranceBits;
+    private int loaded = -1;
+    private final int[] queue;
+    private final int[] found;
+    private int[] cost = new int[0];
+    private int[] parent = new int[0];
+    private int[] seen = new int[0];
+    private int stamp;
+    private int expanded;
+
+    /**
+     * Makes a planner with the default cluster size and builds it.
+     *
+     * @param walls the walls, read live
+     */
+    public HierarchicalPlanner(GridView walls)
+    {
+        this(walls, DEFAULT_CLUSTER);
+    }
+
+    /**
+     * Makes a planner and builds every cluster.
+     *
+     * @param walls the walls, read live
+     * @param clusterSize side of a cluster in cells, at most 64 so a
+     *     row of a cluster fits in a long
+     * @throws IllegalArgumentException if clusterSize is out of range
+     */
+    public HierarchicalPlanner(GridView walls, int clusterSize)
+    {
+        if (clusterSize < 1 || clusterSize > Long.SIZE)
+        {
+            throw new IllegalArgumentException(
+                    "Cluster size must be 1 to 64, got " + clusterSize);
+        }
+        this.walls = walls;
+        this.size = clusterSize;
+        this.span = clusterSize + 2;
+        int area = Math.multiplyExact(span, span);
+        this.local = new int[area];
+        this.closed = new boolean[area];
+        this.openRows = new long[clusterSize];
+        this.seenRows = new long[clusterSize];
+        this.frontRows = new long[clusterSize];
+        this.grownRows = new long[clusterSize];
+        this.queue = new int[area];
+        this.found = new int[2 * clusterSize + 2];
+        this.entranceRows = new int[found.length];
+        this.entranceBits = new long[found.length];
+        mazeChanged();
+    }
+
+    @Override
+    public void cellChanged(int row, int col)
+    {
+        int cluster = clusterOf(row, col);
+        rebuild(cluster);
+        if (row % size == 0 && row > 0)
+        {
+            rebuild(cluster - clusterCols);
+        }
+        if (row % size == size - 1 && row < height - 1)
+        {
+            rebuild(cluster + clusterCols);
+        }
+        if (col % size == 0 && col > 0)
+        {
+            rebuild(cluster - 1);
+        }
+        if (col % size == size - 1 && col < width - 1)
+        {
+            rebuild(cluster + 1);
+        }
+    }
+
+    @Override
+    public void mazeChanged()
+    {
+        height = walls.getHeight();
+        width = walls.getWidth();
+        // Cells are numbered row * width + col, so that must fit.
+        Math.multiplyExact(height, width);
+        clusterRows = (height + size - 1) / size;
+        clusterCols = (width + size - 1) / size;
+        int clusters = clusterRows * clusterCols;
+        entrances = new int[clusters][];
+        costs = new int[clusters][];
+        base = new int[clusters + 1];
+        for (int cluster = 0; cluster < clusters; cluster++)
+        {
+            rebuild(cluster);
+        }
+    }
+
+    /**
+     * Finds a path from start to goal over the open cells.
+     *
+     * @param startRow row to start from
+     * @param startCol col to start from
+     * @param goalRow row to reach
+     * @param goalCol col to reach
+     * @return the path, or null if the goal can not be reached
+     * @throws IllegalArgumentException if start or goal is off the grid
+     */
+    public MazePath path(int startRow, int startCol, int goalRow,
+            int goalCol)
+    {
+        GridSolver.checkCell(walls, startRow, startCol);
+        GridSolver.checkCell(walls, goalRow, goalCol);
+        expanded = 0;
+        loaded = -1;
+        if (walls.get(goalRow, goalCol))
+        {
+            return null;
+        }
+        number();
+        int total = base[base.length - 1];
+        int startId = total;
+        int goalId = total + 1;
+        prepare(total + 2);
+        int first = startRow * width + startCol;
+        int goal = goalRow * width + goalCol;
+
+        int goalCluster = clusterOf(goalRow, goalCol);
+        int[] goalEntrances = entrances[goalCluster];
+        int[] toGoal = new int[goalEntrances.length];
+        flood(goalCluster, goal);
+        for (int i = 0; i < toGoal.length; i++)
+        {
+            toGoal[i] = localDistance(goalCluster, goalEntrances[i]);
+        }
+
+        reachId(startId, 0, -1, first, goal);
+        while (!open.isEmpty())
+        {
+            int id = open.pop();
+            expanded++;
+            if (id == goalId)
+            {
+                return refine(startId, goalId, first, goal);
+            }
+            if (id == startId)
+            {
+                int cluster = clusterOf(startRow, startCol);
+                flood(cluster, first);
+                int[] cells = entrances[cluster];
+                for (int i = 0; i < cells.length; i++)
+                {
+                    int steps = localDistance(cluster, cells[i]);
+                    if (steps != INF)
+                    {
+                        reachId(base[cluster] + i, steps, id, cells[i], goal);
+                    }
+                }
+                int direct = cluster == goalCluster
+                        ? localDistance(cluster, goal) : INF;
+                if (direct != INF)
+                {
+                    reachId(goalId, direct, id, goal, goal);
+                }
+                continue;
+            }
+
+            int cluster = clusterOfId(id);
+            int index = id - base[cluster];
+            int[] cells = entrances[cluster];
+            int[] matrix = costs[cluster];
+            int here = cost[id];
+            for (int j = 0; j < cells.length; j++)
+            {
+                int steps = matrix[index * cells.length + j];
+                if (j != index && steps != INF)
+                {
+                    reachId(base[cluster] + j, here + steps, id, cells[j],
+                            goal);
+                }
+            }
+            if (cluster == goalCluster && toGoal[index] != INF)
+            {
+                reachId(goalId, here + toGoal[index], id, goal, goal);
+            }
+            crossings(id, cells[index], goal);
+        }
+        return null;
+    }
+
+    /**
+     * Finds a path from where the player stands to the goal.
+     *
+     * @param game the game, which should be on this planner's walls
+     * @return the path, or null if the goal can not be reached
+     */
+    public MazePath path(MazeGame game)
+    {
+        return path(game.getPlayerRow(), game.getPlayerCol(),
+                game.getGoalRow(), game.getGoalCol());
+    }
+
+    /**
+     * Gets how many entrances the last query took off the heap.
+     *
+     * @return nodes expanded
+     */
+    public int getExpanded()
+    {
+        return expanded;
+    }
+
+    /**
+     * Gets the number of entrance nodes over all clusters.
+     *
+     * @return the node count
+     */
+    public int getEntranceCount()
+    {
+        number();
+        return base[base.length - 1];
+    }
+
+    /**
+     * Steps across cluster borders from an entrance to the entrances
+     * on the other side.
+     *
+     * @param id the entrance's id
+     * @param cell the entrance's cell
+     * @param goal the goal cell, for the estimate
+     */
+    private void crossings(int id, int cell, int goal)
+    {
+        int row = cell / width;
+        int col = cell - row * width;
+        int next = cost[id] + 1;
+        if (row % size == 0 && row > 0)
+        {
+            cross(id, cell - width, row - 1, col, next, goal);
+        }
+        if (row % size == size - 1 && row < height - 1)
+        {
+            cross(id, cell + width, row + 1, col, next, goal);
+        }
+        if (col % size == 0 && col > 0)
+        {
+            cross(id, cell - 1, row, col - 1, next, goal);
+        }
+        if (col % size == size - 1 && col < width - 1)
+        {
+            cross(id, cell + 1, row, col + 1, next, goal);
+        }
+    }
+
+    /**
+     * Reaches the cell over a border if it is an entrance.
+     *
+     * @param from the id stepped from
+     * @param cell the cell over the border
+     * @param row its row
+     * @param col its col
+     * @param steps the cost of reaching it
+     * @param goal the goal cell, for the estimate
+     */
+    private void cross(int from, int cell, int row, int col, int steps,
+            int goal)
+    {
+        int cluster = clusterOf(row, col);
+        int index = Arrays.binarySearch(entrances[cluster], cell);
+        if (index >= 0)
+        {
+            reachId(base[cluster] + index, steps, from, cell, goal);
+        }
+    }
+
+    /**
+     * Records a cheaper way to a node and queues it.
+     *
+     * @param id the node
+     * @param steps its cost from the start
+     * @param from the node it was reached from
+     * @param cell its cell
+     * @param goal the goal cell, for the estimate
+     */
+    private void reachId(int id, int steps, int from, int cell, int goal)
+    {
+        boolean queued = seen[id] == stamp;
+        if (queued && (steps >= cost[id] || !open.contains(id)))
+        {
+            return;
+        }
+        seen[id] = stamp;
+        cost[id] = steps;
+        parent[id] = from;
+        int remaining = manhattan(cell, goal);
+        long key = (long) (steps + remaining) << ESTIMATE_SHIFT | remaining;
+        if (queued)
+        {
+            open.decreaseKey(id, key);
+        }
+        else
+        {
+            open.push(id, key);
+        }
+    }
+
+    /**
+     * Turns the chain of nodes into cells, searching inside each
+     * cluster for the steps between two nodes.
+     *
+     * @param startId the start's id
+     * @param goalId the goal's id
+     * @param first the start cell
+     * @param goal the goal cell
+     * @return the path
+     */
+    private MazePath refine(int startId, int goalId, int first, int goal)
+    {
+        int nodes = 0;
+        for (int id = goalId; id != -1; id = parent[id])
+        {
+            nodes++;
+        }
+        int[] chain = new int[nodes];
+        for (int id = goalId, i = nodes - 1; id != -1; id = parent[id], i--)
+        {
+            chain[i] = id == startId ? first
+                    : id == goalId ? goal : entranceCell(id);
+        }
+
+        int[] cells = new int[cost[goalId] + 1];
+        int at = 0;
+        cells[at] = first;
+        for (int i = 1; i < nodes; i++)
+        {
+            int from = chain[i - 1];
+            int to = chain[i];
+            if (from == to)
+            {
+                continue;
+            }
+            int cluster = clusterOf(to / width, to % width);
+            if (cluster != clusterOf(from / width, from % width))
+            {
+                cells[++at] = to;
+                continue;
+            }
+            flood(cluster, to);
+            int cell = from;
+            while (cell != to)
+            {
+                cell = downhill(cluster, cell);
+                cells[++at] = cell;
+            }
+        }
+        return new MazePath(width, cells);
+    }
+
+    /**
+     * Picks the neighbour of cell in the cluster one step nearer the
+     * cell the last flood started from.
+     *
+     * @param cluster the cluster
+     * @param cell a flooded cell
+     * @return the next cell
+     */
+    private int downhill(int cluster, int cell)
+    {
+        int row = cell / width;
+        int col = cell - row * width;
+        int next = localDistance(cluster, cell) - 1;
+        if (row > 0 && localDistance(cluster, cell - width) == next)
+        {
+            return cell - width;
+        }
+        if (row < height - 1 && localDistance(cluster, cell + width) == next)
+        {
+            return cell + width;
+        }
+        if (col > 0 && localDistance(cluster, cell - 1) == next)
+        {
+            return cell - 1;
+        }
+        return cell + 1;
+    }
+
+    /**
+     * Finds the entrances of a cluster and the distances between them.
+     *
+     * @param cluster the cluster
+     */
+    private void rebuild(int cluster)
+    {
+        loaded = -1;
+        int top = cluster / clusterCols * size;
+        int left = cluster % clusterCols * size;
+        int bottom = Math.min(top + size, height);
+        int right = Math.min(left + size, width);
+        int count = 0;
+        if (top > 0)
+        {
+            count = scan(count, true, top, top - 1, left, right);
+        }
+        if (bottom < height)
+        {
+            count = scan(count, true, bottom - 1, bottom, left, right);
+        }
+        if (left > 0)
+        {
+            count = scan(count, false, left, left - 1, top, bottom);
+        }
+        if (right < width)
+        {
+            count = scan(count, false, right - 1, right, top, bottom);
+        }
+        Arrays.sort(found, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++)
+        {
+            if (unique == 0 || found[unique - 1] != found[i])
+            {
+                found[unique++] = found[i];
+            }
+        }
+
+        int[] cells = Arrays.copyOf(found, unique);
+        int[] matrix = new int[unique * unique];
+        int rows = bottom - top;
+        for (int row = 0; row < rows; row++)
+        {
+            long bits = 0;
+            for (int col = left; col < right; col++)
+            {
+                if (!walls.get(top + row, col))
+                {
+                    bits |= 1L << (col - left);
+                }
+            }
+            openRows[row] = bits;
+        }
+        for (int i = 0; i < unique; i++)
+        {
+            entranceRows[i] = cells[i] / width - top;
+            entranceBits[i] = 1L << (cells[i] % width - left);
+        }
+        for (int i = 0; i < unique - 1; i++)
+        {
+            measure(unique, matrix, i, rows);
+        }
+        entrances[cluster] = cells;
+        costs[cluster] = matrix;
+        numbered = false;
+    }
+
+    /**
+     * Works out the distances from entrance i to the entrances after
+     * it, filling both halves of the matrix. The search keeps a row
+     * of the cluster in a long and grows the whole frontier one step
+     * at a time with shifts, stopping once every entrance is found.
+     *
+     * @param count the cluster's entrances, in entranceRows and
+     *     entranceBits
+     * @param matrix the distances, row major
+     * @param i the entrance to measure from
+     * @param rows the cluster's height
+     */
+    private void measure(int count, int[] matrix, int i, int rows)
+    {
+        for (int j = i + 1; j < count; j++)
+        {
+            matrix[i * count + j] = INF;
+            matrix[j * count + i] = INF;
+        }
+        Arrays.fill(seenRows, 0, rows, 0L);
+        Arrays.fill(frontRows, 0, rows, 0L);
+        int first = entranceRows[i];
+        frontRows[first] = entranceBits[i];
+        seenRows[first] = frontRows[first];
+
+        int pending = count - 1 - i;
+        int low = first;
+        int high = first;
+        for (int steps = 1; pending > 0; steps++)
+        {
+            low = Math.max(low - 1, 0);
+            high = Math.min(high + 1, rows - 1);
+            boolean grew = false;
+            for (int row = low; row <= high; row++)
+            {
+                long front = frontRows[row];
+                long reach = front << 1 | front >>> 1;
+                if (row > 0)
+                {
+                    reach |= frontRows[row - 1];
+                }
+                if (row < rows - 1)
+                {
+                    reach |= frontRows[row + 1];
+                }
+                grownRows[row] = reach & openRows[row] & ~seenRows[row];
+                grew |= grownRows[row] != 0;
+            }
+            if (!grew)
+            {
+                return;
+            }
+            for (int row = low; row <= high; row++)
+            {
+                frontRows[row] = grownRows[row];
+                seenRows[row] |= grownRows[row];
+            }
+            for (int j = i + 1; j < count; j++)
+            {
+                int row = entranceRows[j];
+                if (row >= low && row <= high
+                        && (grownRows[row] & entranceBits[j]) != 0)
+                {
+                    matrix[i * count + j] = steps;
+                    matrix[j * count + i] = steps;
+                    pending--;
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the middle of each run of open pairs along one border.
+     *
+     * @param count entrances found so far
+     * @param alongRow true if the border runs along a row
+     * @param inside the row or col on this cluster's side
+     * @param outside the row or col on the other side
+     * @param from first index along the border
+     * @param to one past the last index along the border
+     * @return entrances found now
+     */
+    private int scan(int count, boolean alongRow, int inside, int outside,
+            int from, int to)
+    {
+        int run = -1;
+        for (int i = from; i <= to; i++)
+        {
+            boolean pair = i < to && isOpen(alongRow, inside, i)
+                    && isOpen(alongRow, outside, i);
+            if (pair && run < 0)
+            {
+                run = i;
+            }
+            else if (!pair && run >= 0)
+            {
+                int middle = (run + i - 1) >>> 1;
+                found[count++] = alongRow ? inside * width + middle
+                        : middle * width + inside;
+                run = -1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Checks a cell along a border.
+     *
+     * @param alongRow true if line is a row
+     * @param line the row or col
+     * @param i the index along it
+     * @return true if open
+     */
+    private boolean isOpen(boolean alongRow, int line, int i)
+    {
+        return alongRow ? !walls.get(line, i) : !walls.get(i, line);
+    }
+
+    /**
+     * Breadth first search from one cell without leaving its cluster,
+     * leaving the distances in local. The cluster's walls are copied
+     * into closed first, inside a ring of closed slots, so the search
+     * runs on slots with no bounds checks and never goes back to the
+     * grid.
+     *
+     * @param cluster the cluster
+     * @param from the cell to search from
+     */
+    private void flood(int cluster, int from)
+    {
+        int top = cluster / clusterCols * size;
+        int left = cluster % clusterCols * size;
+        if (cluster != loaded)
+        {
+            int rows = Math.min(size, height - top);
+            int cols = Math.min(size, width - left);
+            Arrays.fill(closed, true);
+            for (int row = 0; row < rows; row++)
+            {
+                for (int col = 0; col < cols; col++)
+                {
+                    closed[(row + 1) * span + col + 1] =
+                            walls.get(top + row, left + col);
+                }
+            }
+            loaded = cluster;
+        }
+        Arrays.fill(local, INF);
+
+        int head = 0;
+        int tail = 0;
+        int first = slot(cluster, from);
+        local[first] = 0;
+        queue[tail++] = first;
+        while (head < tail)
+        {
+            int slot = queue[head++];
+            int next = local[slot] + 1;
+            tail = visit(slot - span, next, tail);
+            tail = visit(slot + span, next, tail);
+            tail = visit(slot - 1, next, tail);
+            tail = visit(slot + 1, next, tail);
+        }
+    }
+
+    /**
+     * Queues an open, unseen slot for flood.
+     *
+     * @param slot the slot in the cluster
+     * @param steps its distance
+     * @param tail the queue's tail
+     * @return the new tail
+     */
+    private int visit(int slot, int steps, int tail)
+    {
+        if (local[slot] == INF && !closed[slot])
+        {
+            local[slot] = steps;
+            queue[tail++] = slot;
+        }
+        return tail;
+    }
+
+    /**
+     * Reads a distance from the last flood.
+     *
+     * @param cluster the cluster flooded
+     * @param cell a cell, in the cluster or not
+     * @return the distance, INF if not reached or outside
+     */
+    private int localDistance(int cluster, int cell)
+    {
+        int slot = slot(cluster, cell);
+        return slot < 0 ? INF : local[slot];
+    }
+
+    /**
+     * Gets the slot of a cell in the flood arrays.
+     *
+     * @param cluster the cluster
+     * @param cell the cell
+     * @return the slot, -1 if the cell is outside the cluster
+     */
+    private int slot(int cluster, int cell)
+    {
+        int row = cell / width - cluster / clusterCols * size;
+        int col = cell % width - cluster % clusterCols * size;
+        if (row < 0 || row >= size || col < 0 || col >= size)
+        {
+            return -1;
+        }
+        return (row + 1) * span + col + 1;
+    }
+
+    /**
+     * Gives every entrance an id, cluster by cluster, if an edit has
+     * changed the counts since last time.
+     */
+    private void number()
+    {
+        if (numbered)
+        {
+            return;
+        }
+        for (int cluster = 0; cluster < entrances.length; cluster++)
+        {
+            base[cluster + 1] = base[cluster] + entrances[cluster].length;
+        }
+        numbered = true;
+    }
+
+    /**
+     * Grows the search arrays and starts a new search.
+     *
+     * @param ids one more than the biggest id
+     */
+    private void prepare(int ids)
+    {
+        if (seen.length < ids)
+        {
+            cost = new int[ids];
+            parent = new int[ids];
+            seen = new int[ids];
+            stamp = 0;
+        }
+        if (++stamp == 0)
+        {
+            Arrays.fill(seen, 0);
+            stamp = 1;
+        }
+        open.reset(ids);
+    }
+
+    /**
+     * Finds the cluster an entrance id belongs to.
+     *
+     * @param id the id
+     * @return the cluster
+     */
+    private int clusterOfId(int id)
+    {
+        int low = 0;
+        int high = entrances.length - 1;
+        while (low < high)
+        {
+            int mid = (low + high + 1) >>> 1;
+            if (base[mid] <= id)
+            {
+                low = mid;
+            }
+            else
+            {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Gets the cell of an entrance id.
+     *
+     * @param id the id
+     * @return the cell
+     */
+    private int entranceCell(int id)
+    {
+        int cluster = clusterOfId(id);
+        return entrances[cluster][id - base[cluster]];
+    }
+
+    /**
+     * Gets the cluster a cell is in.
+     *
+     * @param row the row
+     * @param col the col
+     * @return the cluster
+     */
+    private int clusterOf(int row, int col)
+    {
+        return row / size * clusterCols + col / size;
+    }
+
+    /**
+     * Gets the Manhattan distance between two cells.
+     *
+     * @param from one cell
+     * @param to the other
+     * @return the distance
+     */
+    private int manhattan(int from, int to)
+    {
+        int fromRow = from / width;
+        int toRow = to / width;
+        return Math.abs(fromRow - toRow)
+                + Math.abs(from - fromRow * width - (to - toRow * width));
+    }
+}
@@ -0,0 +1,355 @@
+package maze;
+
+import java.util.Arrays;
+
+/**
+ * Keeps a shortest path from the player to the goal up to date as
+ * cells are edited, in the style of D* Lite. Distances are searched
+ * back from the goal, so when a wall goes up or comes down only the
+ * cells whose distance it changes are worked again, and the player
+ * walking around costs nothing but a bump to the key offset.
+ *
+ * <p>The planner listens to its game: single cell edits are repaired
+ * on the next call to path, a new grid or goal starts it over.
+ * Like the solvers, one planner must not be shared between threads.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public final class IncrementalPlanner implements MazeEditListener
+{
+
+    /**
+     * Distance of a cell with no way to the goal. Small enough that
+     * one more step can not overflow.
+     */
+    private static final int INF = Integer.MAX_VALUE / 2;
+
+    /**
+     * The heap key is the estimate in the high half and the distance
+     * in the low half, so ties go to the cell nearer the goal.
+     */
+    private static final int ESTIMATE_SHIFT = 32;
+    private final MazeGame game;
+    private final GridView walls;
+    private final IndexedMinHeap open = new IndexedMinHeap();
+    private int[] g = new int[0];
+    private int[] rhs = new int[0];
+    private int height;
+    private int width;
+    private int goal;
+    private int start;
+    private int offset;
+    private boolean stale = true;
+    private int expanded;
+
+    /**
+     * Makes a planner for game and starts listening to its edits.
+     *
+     * @param game the game
+     */
+    public IncrementalPlanner(MazeGame game)
+    {
+        this.game = game;
+        this.walls = game.getBlockedView();
+        game.addEditListener(this);
+    }
+
+    /**
+     * Stops listening to the game. Later edits are not seen.
+     */
+    public void detach()
+    {
+        game.removeEditListener(this);
+    }
+
+    @Override
+    public void cellChanged(int row, int col)
+    {
+        if (stale)
+        {
+            return;
+        }
+        int cell = row * width + col;
+        update(cell);
+        if (row > 0)
+        {
+            update(cell - width);
+        }
+        if (row < height - 1)
+        {
+            update(cell + width);
+        }
+        if (col > 0)
+        {
+            update(cell - 1);
+        }
+        if (col < width - 1)
+        {
+            update(cell + 1);
+        }
+    }
+
+    @Override
+    public void mazeChanged()
+    {
+        stale = true;
+    }
+
+    /**
+     * Gets a shortest path from where the player stands to the goal,
+     * repairing what the edits since the last call broke.
+     *
+     * @return the path, or null if the goal can not be reached
+     */
+    public MazePath path()
+    {
+        int here = game.getPlayerRow() * game.getWidth()
+                + game.getPlayerCol();
+        expanded = 0;
+        if (stale)
+        {
+            restart(here);
+        }
+        else if (here != start)
+        {
+            offset += estimate(start, here);
+            start = here;
+        }
+        repair();
+
+        if (g[start] >= INF)
+        {
+            return null;
+        }
+        int[] cells = new int[g[start] + 1];
+        int cell = start;
+        cells[0] = cell;
+        for (int i = 1; i < cells.length; i++)
+        {
+            cell = nextCell(cell);
+            cells[i] = cell;
+        }
+        return new MazePath(width, cells);
+    }
+
+    /**
+     * Gets how many cells the last call to path worked. After a
+     * small edit this is roughly the cells whose distance changed.
+     *
+     * @return cells expanded
+     */
+    public int getExpanded()
+    {
+        return expanded;
+    }
+
+    /**
+     * Forgets every distance and seeds the search at the goal.
+     *
+     * @param here the player's cell
+     */
+    private void restart(int here)
+    {
+        height = game.getHeight();
+        width = game.getWidth();
+        int cells = Math.multiplyExact(height, width);
+        if (g.length != cells)
+        {
+            g = new int[cells];
+            rhs = new int[cells];
+        }
+        Arrays.fill(g, INF);
+        Arrays.fill(rhs, INF);
+        open.reset(cells);
+        goal = game.getGoalRow() * width + game.getGoalCol();
+        start = here;
+        offset = 0;
+        stale = false;
+        update(goal);
+    }
+
+    /**
+     * Works the queue until the player's cell is settled and nothing
+     * left in the queue could change it.
+     */
+    private void repair()
+    {
+        while (!open.isEmpty() && (open.peekKey() < key(start)
+                || rhs[start] != g[start]))
+        {
+            int cell = open.peek();
+            long fresh = key(cell);
+            if (open.peekKey() < fresh)
+            {
+                open.update(cell, fresh);
+                continue;
+            }
+            expanded++;
+            if (g[cell] > rhs[cell])
+            {
+                g[cell] = rhs[cell];
+                open.remove(cell);
+            }
+            else
+            {
+                g[cell] = INF;
+                update(cell);
+            }
+            updateNeighbours(cell);
+        }
+    }
+
+    /**
+     * Updates the four neighbours of a cell that are on the grid.
+     *
+     * @param cell the cell
+     */
+    private void updateNeighbours(int cell)
+    {
+        int row = cell / width;
+        int col = cell - row * width;
+        if (row > 0)
+        {
+            update(cell - width);
+        }
+        if (row < height - 1)
+        {
+            update(cell + width);
+        }
+        if (col > 0)
+        {
+            update(cell - 1);
+        }
+        if (col < width - 1)
+        {
+            update(cell + 1);
+        }
+    }
+
+    /**
+     * Works out a cell's one-step lookahead distance and queues it
+     * if that disagrees with its settled distance.
+     *
+     * @param cell the cell
+     */
+    private void update(int cell)
+    {
+        int row = cell / width;
+        int col = cell - row * width;
+        if (walls.get(row, col))
+        {
+            rhs[cell] = INF;
+        }
+        else if (cell == goal)
+        {
+            rhs[cell] = 0;
+        }
+        else
+        {
+            int best = INF;
+            if (row > 0 && !walls.get(row - 1, col))
+            {
+                best = Math.min(best, g[cell - width]);
+            }
+            if (row < height - 1 && !walls.get(row + 1, col))
+            {
+                best = Math.min(best, g[cell + width]);
+            }
+            if (col > 0 && !walls.get(row, col - 1))
+            {
+                best = Math.min(best, g[cell - 1]);
+            }
+            if (col < width - 1 && !walls.get(row, col + 1))
+            {
+                best = Math.min(best, g[cell + 1]);
+            }
+            rhs[cell] = Math.min(best + 1, INF);
+        }
+
+        boolean queued = open.contains(cell);
+        if (g[cell] != rhs[cell])
+        {
+            if (queued)
+            {
+                open.update(cell, key(cell));
+            }
+            else
+            {
+                open.push(cell, key(cell));
+            }
+        }
+        else if (queued)
+        {
+            open.remove(cell);
+        }
+    }
+
+    /**
+     * Picks the open neighbour one step nearer the goal.
+     *
+     * @param cell a cell on the path
+     * @return the next cell
+     */
+    private int nextCell(int cell)
+    {
+        int row = cell / width;
+        int col = cell - row * width;
+        int best = -1;
+        int bestDistance = INF;
+        if (row > 0 && !walls.get(row - 1, col)
+                && g[cell - width] < bestDistance)
+        {
+            best = cell - width;
+            bestDistance = g[best];
+        }
+        if (row < height - 1 && !walls.get(row + 1, col)
+                && g[cell + width] < bestDistance)
+        {
+            best = cell + width;
+            bestDistance = g[best];
+        }
+        if (col > 0 && !walls.get(row, col - 1)
+                && g[cell - 1] < bestDistance)
+        {
+            best = cell - 1;
+            bestDistance = g[best];
+        }
+        if (col < width - 1 && !walls.get(row, col + 1)
+                && g[cell + 1] < bestDistance)
+        {
+            best = cell + 1;
+        }
+        return best;
+    }
+
+    /**
+     * Gets a cell's queue key: its distance plus the estimate to the
+     * player, plus the offset for how far the player has walked.
+     *
+     * @param cell the cell
+     * @return the key
+     */
+    private long key(int cell)
+    {
+        long distance = Math.min(g[cell], rhs[cell]);
+        long estimate = distance + estimate(start, cell) + offset;
+        return estimate << ESTIMATE_SHIFT | distance;
+    }
+
+    /**
+     * Gets the Manhattan distance between two cells, which never
+     * overestimates the steps between them.
+     *
+     * @param from one cell
+     * @param to the other
+     * @return the estimate
+     */
+    private int estimate(int from, int to)
+    {
+        int fromRow = from / width;
+        int toRow = to / width;
+        return Math.abs(fromRow - toRow)
+                + Math.abs(from - fromRow * width - (to - toRow * width));
+    }
+}
@@ -0,0 +1,228 @@
+package maze;
+
+/**
+ * Binary min heap of int ids with long keys, for the grid searches.
+ * Keeps each id's slot so a key can be lowered in place. Ids must be
+ * below the capacity given to reset. The slot array is never
+ * cleared: an id is in the heap only if its slot points back at it.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+final class IndexedMinHeap
+{
+    private int[] ids = new int[0];
+    private long[] keys = new long[0];
+    private int[] slots = new int[0];
+    private int size;
+
+    /**
+     * Empties the heap, growing it to hold ids below capacity.
+     *
+     * @param capacity one more than the biggest id
+     */
+    void reset(int capacity)
+    {
+        if (slots.length < capacity)
+        {
+            ids = new int[capacity];
+            keys = new long[capacity];
+            slots = new int[capacity];
+        }
+        size = 0;
+    }
+
+    /**
+     * Checks for an empty heap.
+     *
+     * @return true if empty
+     */
+    boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Gets the number of ids in the heap.
+     *
+     * @return the size
+     */
+    int size()
+    {
+        return size;
+    }
+
+    /**
+     * Checks whether id is in the heap.
+     *
+     * @param id the id
+     * @return true if in the heap
+     */
+    boolean contains(int id)
+    {
+        int slot = slots[id];
+        return slot >= 0 && slot < size && ids[slot] == id;
+    }
+
+    /**
+     * Adds an id that is not in the heap.
+     *
+     * @param id the id
+     * @param key its key
+     */
+    void push(int id, long key)
+    {
+        siftUp(size++, id, key);
+    }
+
+    /**
+     * Lowers the key of an id in the heap.
+     *
+     * @param id the id
+     * @param key its new key, no bigger than the old one
+     */
+    void decreaseKey(int id, long key)
+    {
+        siftUp(slots[id], id, key);
+    }
+
+    /**
+     * Changes the key of an id in the heap, up or down.
+     *
+     * @param id the id
+     * @param key its new key
+     */
+    void update(int id, long key)
+    {
+        int slot = slots[id];
+        if (key < keys[slot])
+        {
+            siftUp(slot, id, key);
+        }
+        else
+        {
+            siftDown(slot, id, key);
+        }
+    }
+
+    /**
+     * Gets the id with the smallest key without removing it.
+     *
+     * @return the id
+     */
+    int peek()
+    {
+        return ids[0];
+    }
+
+    /**
+     * Gets the smallest key.
+     *
+     * @return the key, Long.MAX_VALUE if the heap is empty
+     */
+    long peekKey()
+    {
+        return size == 0 ? Long.MAX_VALUE : keys[0];
+    }
+
+    /**
+     * Removes the id with the smallest key.
+     *
+     * @return the id
+     */
+    int pop()
+    {
+        int top = ids[0];
+        remove(top);
+        return top;
+    }
+
+    /**
+     * Removes an id from the heap.
+     *
+     * @param id the id, in the heap
+     */
+    void remove(int id)
+    {
+        int slot = slots[id];
+        size--;
+        if (slot < size)
+        {
+            int moved = ids[size];
+            long key = keys[size];
+            if (key < keys[slot])
+            {
+                siftUp(slot, moved, key);
+            }
+            else
+            {
+                siftDown(slot, moved, key);
+            }
+        }
+        slots[id] = -1;
+    }
+
+    /**
+     * Moves an id up from slot until its parent's key is no bigger.
+     *
+     * @param slot where the id starts
+     * @param id the id
+     * @param key its key
+     */
+    private void siftUp(int slot, int id, long key)
+    {
+        while (slot > 0)
+        {
+            int up = (slot - 1) >>> 1;
+            if (keys[up] <= key)
+            {
+                break;
+            }
+            place(slot, ids[up], keys[up]);
+            slot = up;
+        }
+        place(slot, id, key);
+    }
+
+    /**
+     * Moves an id down from slot until its children's keys are
+     * no smaller.
+     *
+     * @param slot where the id starts
+     * @param id the id
+     * @param key its key
+     */
+    private void siftDown(int slot, int id, long key)
+    {
+        int half = size >>> 1;
+        while (slot < half)
+        {
+            int child = 2 * slot + 1;
+            if (child + 1 < size && keys[child + 1] < keys[child])
+            {
+                child++;
+            }
+            if (key <= keys[child])
+            {
+                break;
+            }
+            place(slot, ids[child], keys[child]);
+            slot = child;
+        }
+        place(slot, id, key);
+    }
+
+    /**
+     * Puts an id and key in a slot.
+     *
+     * @param slot the slot
+     * @param id the id
+     * @param key its key
+     */
+    private void place(int slot, int id, long key)
+    {
+        ids[slot] = id;
+        keys[slot] = key;
+        slots[id] = slot;
+    }
+}
@@ -0,0 +1,307 @@
+package maze;
+
+/**
+ * Jump point search for four-way grids. Many shortest paths through
+ * open space differ only in when they turn. This search keeps one of
+ * them: vertical runs may turn sideways anywhere, but horizontal runs
+ * turn up or down only where a wall forced the turn. Runs are then
+ * jumped over in one go, and only the cells where something can change
+ * (jump points) go on the heap. Paths are as short as BfsSolver's.
+ *
+ * <p>A horizontal run stops on a cell with a forced neighbour: the
+ * cell above or below is open while the one behind it is blocked.
+ * A vertical run stops on any cell that a horizontal run from it
+ * would stop on. Both stop on the goal.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public final class JpsSolver extends GridSolver
+{
+
+    /**
+     * Shifts the estimate above the tie breaker in a heap key.
+     */
+    private static final int ESTIMATE_SHIFT = 32;
+
+    /**
+     * Heading of the start, which jumps every way.
+     */
+    private static final int ANY = 0;
+    private static final int HORIZONTAL = 1;
+    private static final int VERTICAL = 2;
+    private final IndexedMinHeap open = new IndexedMinHeap();
+    private int[] cost = new int[0];
+    private byte[] heading = new byte[0];
+    private byte[] step = new byte[0];
+    private GridView blocked;
+    private int height;
+    private int width;
+    private int goalRow;
+    private int goalCol;
+
+    @Override
+    public MazePath solve(GridView blocked, int startRow, int startCol,
+            int goalRow, int goalCol)
+    {
+        checkCell(blocked, startRow, startCol);
+        checkCell(blocked, goalRow, goalCol);
+        this.blocked = blocked;
+        this.height = blocked.getHeight();
+        this.width = blocked.getWidth();
+        this.goalRow = goalRow;
+        this.goalCol = goalCol;
+        prepare(Math.multiplyExact(height, width));
+
+        int goal = goalRow * width + goalCol;
+        int first = startRow * width + startCol;
+        reach(first, -1);
+        cost[first] = 0;
+        heading[first] = ANY;
+        open.push(first, key(0, startRow, startCol));
+
+        try
+        {
+            while (!open.isEmpty())
+            {
+                int cell = open.pop();
+                expand();
+                if (cell == goal)
+                {
+                    return trace(goal);
+                }
+                successors(cell);
+            }
+            return null;
+        }
+        finally
+        {
+            this.blocked = null;
+        }
+    }
+
+    @Override
+    protected void prepare(int cells)
+    {
+        super.prepare(cells);
+        if (cost.length < cells)
+        {
+            cost = new int[cells];
+            heading = new byte[cells];
+            step = new byte[cells];
+        }
+        open.reset(cells);
+    }
+
+    /**
+     * Jumps from a jump point in every direction its heading allows.
+     *
+     * @param cell the jump point
+     */
+    private void successors(int cell)
+    {
+        int row = cell / width;
+        int col = cell - row * width;
+        int dir = step[cell];
+
+        if (heading[cell] != HORIZONTAL)
+        {
+            horizontal(cell, row, col, -1);
+            horizontal(cell, row, col, 1);
+        }
+        if (heading[cell] == ANY)
+        {
+            vertical(cell, row, col, -1);
+            vertical(cell, row, col, 1);
+        }
+        else if (heading[cell] == VERTICAL)
+        {
+            vertical(cell, row, col, dir);
+        }
+        else
+        {
+            horizontal(cell, row, col, dir);
+            if (row > 0 && !blocked.get(row - 1, col)
+                    && blocked.get(row - 1, col - dir))
+            {
+                vertical(cell, row, col, -1);
+            }
+            if (row < height - 1 && !blocked.get(row + 1, col)
+                    && blocked.get(row + 1, col - dir))
+            {
+                vertical(cell, row, col, 1);
+            }
+        }
+    }
+
+    /**
+     * Jumps sideways from a cell and offers what it lands on.
+     *
+     * @param from the jump point
+     * @param row its row
+     * @param col its col
+     * @param dx -1 for left, 1 for right
+     */
+    private void horizontal(int from, int row, int col, int dx)
+    {
+        int landed = jumpHorizontal(row, col, dx);
+        if (landed >= 0)
+        {
+            relax(row * width + landed, from, Math.abs(landed - col),
+                    row, landed, HORIZONTAL, dx);
+        }
+    }
+
+    /**
+     * Jumps up or down from a cell and offers what it lands on.
+     *
+     * @param from the jump point
+     * @param row its row
+     * @param col its col
+     * @param dy -1 for up, 1 for down
+     */
+    private void vertical(int from, int row, int col, int dy)
+    {
+        int landed = jumpVertical(row, col, dy);
+        if (landed >= 0)
+        {
+            relax(landed * width + col, from, Math.abs(landed - row),
+                    landed, col, VERTICAL, dy);
+        }
+    }
+
+    /**
+     * Runs sideways until a wall, the goal or a forced neighbour.
+     *
+     * @param row the row
+     * @param col where the run starts, not checked
+     * @param dx -1 for left, 1 for right
+     * @return the col of the jump point, or -1 for a dead end
+     */
+    private int jumpHorizontal(int row, int col, int dx)
+    {
+        while (true)
+        {
+            col += dx;
+            if (col < 0 || col >= width || blocked.get(row, col))
+            {
+                return -1;
+            }
+            if (row == goalRow && col == goalCol)
+            {
+                return col;
+            }
+            if (row > 0 && !blocked.get(row - 1, col)
+                    && blocked.get(row - 1, col - dx))
+            {
+                return col;
+            }
+            if (row < height - 1 && !blocked.get(row + 1, col)
+                    && blocked.get(row + 1, col - dx))
+            {
+                return col;
+            }
+        }
+    }
+
+    /**
+     * Runs up or down until a wall, the goal or a cell whose own
+     * sideways runs find something.
+     *
+     * @param row where the run starts, not checked
+     * @param col the col
+     * @param dy -1 for up, 1 for down
+     * @return the row of the jump point, or -1 for a dead end
+     */
+    private int jumpVertical(int row, int col, int dy)
+    {
+        while (true)
+        {
+            row += dy;
+            if (row < 0 || row >= height || blocked.get(row, col))
+            {
+                return -1;
+            }
+            if (row == goalRow && col == goalCol
+                    || jumpHorizontal(row, col, -1) >= 0
+                    || jumpHorizontal(row, col, 1) >= 0)
+            {
+                return row;
+            }
+        }
+    }
+
+    /**
+     * Offers a jump point a cheaper way in.
+     *
+     * @param cell the jump point
+     * @param from where the jump started
+     * @param distance cells jumped
+     * @param row row of cell
+     * @param col col of cell
+     * @param way HORIZONTAL or VERTICAL
+     * @param dir -1 or 1 along way
+     */
+    private void relax(int cell, int from, int distance, int row, int col,
+            int way, int dir)
+    {
+        int newCost = cost[from] + distance;
+        if (!isReached(cell))
+        {
+            open.push(cell, key(newCost, row, col));
+        }
+        else if (newCost < cost[cell] && open.contains(cell))
+        {
+            open.decreaseKey(cell, key(newCost, row, col));
+        }
+        else
+        {
+            return;
+        }
+        reach(cell, from);
+        cost[cell] = newCost;
+        heading[cell] = (byte) way;
+        step[cell] = (byte) dir;
+    }
+
+    /**
+     * Heap key for a cell: the estimated path length, then the
+     * distance left to break ties.
+     *
+     * @param costSoFar steps from the start
+     * @param row the row
+     * @param col the col
+     * @return the key
+     */
+    private long key(int costSoFar, int row, int col)
+    {
+        int remaining = Math.abs(row - goalRow) + Math.abs(col - goalCol);
+        return ((long) (costSoFar + remaining) << ESTIMATE_SHIFT)
+                | remaining;
+    }
+
+    /**
+     * Follows the jump points back from goal, filling in the cells
+     * jumped over.
+     *
+     * @param goal the goal cell, reached
+     * @return the path
+     */
+    private MazePath trace(int goal)
+    {
+        int[] cells = new int[cost[goal] + 1];
+        int i = cells.length - 1;
+        int cell = goal;
+        for (int from = parentOf(cell); from >= 0; from = parentOf(cell))
+        {
+            int stride = heading[cell] == HORIZONTAL ? step[cell]
+                    : step[cell] * width;
+            for (; cell != from; cell -= stride)
+            {
+                cells[i--] = cell;
+            }
+        }
+        cells[0] = cell;
+        return new MazePath(width, cells);
+    }
+}
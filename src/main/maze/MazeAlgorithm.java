@@ -0,0 +1,36 @@
+package maze;
+
+/**
+ * The ways SeededMazeGenerator can carve a perfect maze. Every one
+ * gives exactly one path between any two rooms; they differ in the
+ * look of the maze and in speed.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public enum MazeAlgorithm
+{
+    /**
+     * Depth first walk that backs up when stuck. Long winding
+     * corridors with few dead ends. Carves 4096 x 4096 in about a
+     * third of a second.
+     */
+    BACKTRACKER,
+
+    /**
+     * Knocks down walls in random order unless the rooms on either
+     * side are already joined. Many short dead ends. Each wall is put
+     * off by a random few rows so the union find stays in cache,
+     * which keeps it near the backtracker's speed on big mazes.
+     */
+    KRUSKAL,
+
+    /**
+     * Loop erased random walks, which picks uniformly among all
+     * perfect mazes. Early walks wander far before they find the
+     * maze, and how far is down to chance, so its time swings from
+     * maze to maze: at 4096 x 4096 anywhere from a little over the
+     * backtracker to about three times it.
+     */
+    WILSON
+}
@@ -0,0 +1,301 @@
+package maze;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Generates many seeded mazes at once across a fork/join pool, each
+ * with the moves that solve it. Before any work starts the batch seed
+ * is split once per maze, in order, so maze i always gets the same
+ * randomness no matter which thread carves it or how many there are.
+ * A seed always gives the same batch.
+ *
+ * <p>Mazes can be kept in memory or written to a directory, each to
+ * its own file next to its moves, so nothing shares one file the way
+ * MazeGenerator shares random.txt.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public final class MazeBatch
+{
+    private final int height;
+    private final int width;
+    private final MazeAlgorithm algorithm;
+    private final ForkJoinPool pool;
+
+    /**
+     * Makes a batch on the common pool.
+     *
+     * @param height rows of each maze, at least 1
+     * @param width cols of each maze, at least 1
+     * @param algorithm how to carve
+     * @throws IllegalArgumentException if a size is below 1
+     */
+    public MazeBatch(int height, int width, MazeAlgorithm algorithm)
+    {
+        this(height, width, algorithm, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Makes a batch on a given pool.
+     *
+     * @param height rows of each maze, at least 1
+     * @param width cols of each maze, at least 1
+     * @param algorithm how to carve
+     * @param pool where the mazes are carved
+     * @throws IllegalArgumentException if a size is below 1
+     */
+    public MazeBatch(int height, int width, MazeAlgorithm algorithm,
+            ForkJoinPool pool)
+    {
+        if (height < 1 || width < 1)
+        {
+            throw new IllegalArgumentException(
+                    "Maze must be at least 1 x 1, got " + height + " x "
+                    + width);
+        }
+        this.height = height;
+        this.width = width;
+        this.algorithm = algorithm;
+        this.pool = pool;
+    }
+
+    /**
+     * Generates mazes and solves them, keeping them all in memory.
+     *
+     * @param count how many mazes
+     * @param seed the batch seed
+     * @return the mazes, in order
+     * @throws IllegalArgumentException if count is negative
+     */
+    public List<Entry> generate(int count, long seed)
+    {
+        SplittableRandom[] randoms = seeds(count, seed);
+        Entry[] entries = new Entry[count];
+        pool.invoke(new Carve(randoms, 0, count, entries, null));
+        return Collections.unmodifiableList(Arrays.asList(entries));
+    }
+
+    /**
+     * Generates mazes and writes each one to a directory, the maze
+     * to mazeFile(i) and its moves to movesFile(i). Mazes are dropped
+     * once written, so only one per thread is held at a time.
+     *
+     * @param directory where to write; it must exist
+     * @param count how many mazes
+     * @param seed the batch seed
+     * @throws IOException if a file can not be written
+     * @throws IllegalArgumentException if count is negative
+     */
+    public void write(String directory, int count, long seed)
+            throws IOException
+    {
+        try
+        {
+            pool.invoke(new Carve(seeds(count, seed), 0, count, null,
+                    Path.of(directory)));
+        }
+        catch (UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Gets the name of a maze file written by write.
+     *
+     * @param index which maze
+     * @return the file name
+     */
+    public static String mazeFile(int index)
+    {
+        return "maze" + index + ".txt";
+    }
+
+    /**
+     * Gets the name of a moves file written by write.
+     *
+     * @param index which maze
+     * @return the file name
+     */
+    public static String movesFile(int index)
+    {
+        return "maze" + index + ".moves.txt";
+    }
+
+    /**
+     * Splits the batch seed once per maze, on the calling thread.
+     *
+     * @param count how many mazes
+     * @param seed the batch seed
+     * @return the randomness for each maze
+     */
+    private static SplittableRandom[] seeds(int count, long seed)
+    {
+        if (count < 0)
+        {
+            throw new IllegalArgumentException(
+                    "Count must not be negative, got " + count);
+        }
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[count];
+        for (int i = 0; i < count; i++)
+        {
+            randoms[i] = root.split();
+        }
+        return randoms;
+    }
+
+    /**
+     * A generated maze and the moves that solve it.
+     */
+    public static final class Entry
+    {
+        private final int index;
+        private final MazeTemplate template;
+        private final MazePath solution;
+
+        /**
+         * Makes an entry.
+         *
+         * @param index where it is in the batch
+         * @param template the maze
+         * @param solution a shortest way from S to G
+         */
+        private Entry(int index, MazeTemplate template, MazePath solution)
+        {
+            this.index = index;
+            this.template = template;
+            this.solution = solution;
+        }
+
+        /**
+         * Gets where the maze is in the batch.
+         *
+         * @return the index
+         */
+        public int getIndex()
+        {
+            return index;
+        }
+
+        /**
+         * Gets the maze.
+         *
+         * @return the template
+         */
+        public MazeTemplate getTemplate()
+        {
+            return template;
+        }
+
+        /**
+         * Gets a shortest way from S to G.
+         *
+         * @return the path
+         */
+        public MazePath getSolution()
+        {
+            return solution;
+        }
+
+        /**
+         * Gets the solution as input MazeGame can play, one move
+         * per line.
+         *
+         * @return the moves
+         */
+        public String getInput()
+        {
+            return solution.toInput();
+        }
+    }
+
+    /**
+     * Carves a run of the batch, splitting until each task has one
+     * maze.
+     */
+    private final class Carve extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+        private final transient SplittableRandom[] randoms;
+        private final transient Entry[] entries;
+        private final transient Path directory;
+        private final int from;
+        private final int to;
+
+        /**
+         * Makes a task for part of the batch.
+         *
+         * @param randoms the randomness for each maze
+         * @param from first maze
+         * @param to one past the last maze
+         * @param entries where to keep the mazes, or null
+         * @param directory where to write the mazes, or null
+         */
+        private Carve(SplittableRandom[] randoms, int from, int to,
+                Entry[] entries, Path directory)
+        {
+            this.randoms = randoms;
+            this.from = from;
+            this.to = to;
+            this.entries = entries;
+            this.directory = directory;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (to - from > 1)
+            {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Carve(randoms, from, middle, entries,
+                        directory),
+                        new Carve(randoms, middle, to, entries, directory));
+                return;
+            }
+            if (to == from)
+            {
+                return;
+            }
+
+            MazeTemplate template = SeededMazeGenerator.generate(height,
+                    width, algorithm, randoms[from]);
+            MazePath solution = new BfsSolver().solve(
+                    template.getBlockedView(), template.getStartRow(),
+                    template.getStartCol(), template.getGoalRow(),
+                    template.getGoalCol());
+            if (entries != null)
+            {
+                entries[from] = new Entry(from, template, solution);
+                return;
+            }
+            try
+            {
+                TextMazeWriter.write(
+                        directory.resolve(mazeFile(from)).toString(),
+                        template.getBlockedView(),
+                        new int[] {template.getStartRow(),
+                            template.getStartCol()},
+                        new int[] {template.getGoalRow(),
+                            template.getGoalCol()});
+                Files.writeString(directory.resolve(movesFile(from)),
+                        solution.toInput(), StandardCharsets.US_ASCII);
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
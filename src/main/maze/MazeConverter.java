@@ -0,0 +1,109 @@
+package maze;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Converts maze files between the text and binary formats.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public final class MazeConverter
+{
+
+    /**
+     * Utility class, no instances.
+     */
+    private MazeConverter()
+    {
+    }
+
+    /**
+     * Converts a maze file. The input can be in either format and is
+     * written out in the other one.
+     *
+     * @param args the input file then the output file
+     * @throws IOException if either file fails
+     */
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length != 2)
+        {
+            System.out.println("usage: MazeConverter <in> <out>");
+            return;
+        }
+        if (isBinary(args[0]))
+        {
+            toText(args[0], args[1]);
+        }
+        else
+        {
+            toBinary(args[0], args[1]);
+        }
+    }
+
+    /**
+     * Checks a file for the binary magic bytes.
+     *
+     * @param mazeFile the maze file
+     * @return true if it is a binary maze
+     * @throws IOException if the file can not be read
+     */
+    public static boolean isBinary(String mazeFile) throws IOException
+    {
+        return BinaryMazeFormat.isBinary(
+                MazeParser.read(Paths.get(mazeFile)));
+    }
+
+    /**
+     * Writes a maze file out in the binary format.
+     *
+     * @param inFile maze file in either format
+     * @param binaryFile where to write the binary maze
+     * @throws IOException if either file fails
+     */
+    public static void toBinary(String inFile, String binaryFile)
+            throws IOException
+    {
+        int[] start = new int[2];
+        int[] goal = new int[2];
+        BitGrid blocked = MazeParser.parse(inFile, start, goal);
+        BinaryMazeFormat.write(binaryFile, blocked, start, goal);
+    }
+
+    /**
+     * Writes a maze file out in the text format. Text too big for one
+     * parser window starts with a "# rows cols" header, which
+     * MazeParser needs to read it back a window at a time.
+     *
+     * @param inFile maze file in either format
+     * @param textFile where to write the text maze
+     * @throws IOException if either file fails
+     */
+    public static void toText(String inFile, String textFile)
+            throws IOException
+    {
+        toText(inFile, textFile, MazeParser.WINDOW);
+    }
+
+    /**
+     * Writes a maze file out in the text format, with a header if the
+     * text is bigger than window.
+     *
+     * @param inFile maze file in either format
+     * @param textFile where to write the text maze
+     * @param window the biggest text written without a header
+     * @throws IOException if either file fails
+     */
+    static void toText(String inFile, String textFile, long window)
+            throws IOException
+    {
+        int[] start = new int[2];
+        int[] goal = new int[2];
+        BitGrid blocked = MazeParser.parse(inFile, start, goal);
+        boolean header = TextMazeWriter.textBytes(blocked.getHeight(),
+                blocked.getWidth()) > window;
+        TextMazeWriter.write(textFile, blocked, start, goal, header);
+    }
+}
@@ -0,0 +1,24 @@
+package maze;
+
+/**
+ * Hears about edits to a MazeGame's walls and goal, so anything
+ * built from them can be brought up to date.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public interface MazeEditListener
+{
+    /**
+     * Called after one cell was opened or walled off.
+     *
+     * @param row the row
+     * @param col the col
+     */
+    void cellChanged(int row, int col);
+
+    /**
+     * Called after the whole grid was replaced or the goal moved.
+     */
+    void mazeChanged();
+}
@@ -1,9 +1,15 @@
 package maze;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Scanner;
 import java.io.FileNotFoundException;
-import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 
 
 /**
@@ -19,16 +25,51 @@ public class MazeGame
 
 {
 
+    /**
+     * Height of the standard lab maze. Each game takes its
+     * own size from the maze it loads.
+     */
     public static final int HEIGHT = 19;
+
+    /**
+     * Width of the standard lab maze.
+     */
     public static final int WIDTH = 39;
     private static final int COL = 1;
     private static final int ROW = 0;
+
+    /**
+     * The prompt, encoded once so printing it allocates nothing.
+     */
+    private static final byte[] PROMPT =
+            "Enter your move (up, down, left, right, or q to quit): "
+            .getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Printed for a move that means nothing.
+     */
+    private static final byte[] UNKNOWN_MOVE =
+            "Uh oh... -_-".getBytes(StandardCharsets.US_ASCII);
+
     private Scanner playerInput;
-    private boolean[][] blocked;
-    private boolean[][] visited;
+    private MoveDecoder moveSource;
+    private MoveDecoder lineMoves;
+    private int moveCount = 1;
+    private DistanceField distances;
+    private MazeTemplate template;
+    private int height;
+    private int width;
+    private BitGrid blocked;
+    private BitGrid visited;
     private int[] player;
     private int[] goal;
     private int[] start;
+    private final GridView blockedView = new LiveView(true);
+    private final GridView visitedView = new LiveView(false);
+    private final MazeRenderer renderer = new MazeRenderer();
+    private RenderMode renderMode = RenderMode.FULL;
+    private MazeOutput output = MazeOutput.stdout();
+    private final List<MazeEditListener> editListeners = new ArrayList<>();
 
     /**
      * 2 arg constructor for  new Maze game.
@@ -46,6 +87,21 @@ public class MazeGame
     }
 
 
+    /**
+     * 3 arg constructor, for games that should not print to System.out.
+     *
+     * @param mazeFile the maze file
+     * @param playerInput the player input
+     * @param output where the board and messages go
+     * @throws FileNotFoundException the file not found exception
+     */
+    public MazeGame(String mazeFile, Scanner playerInput, MazeOutput output)
+            throws FileNotFoundException
+    {
+        this(mazeFile, playerInput);
+        this.output = output;
+    }
+
     /**
      * 1 arg for Maze game.
      *
@@ -58,6 +114,56 @@ public class MazeGame
 
     }
 
+    /**
+     * Starts a game on an already loaded maze. The walls are shared
+     * with the template, not copied.
+     *
+     * @param template the maze
+     * @param playerInput the player input
+     */
+    public MazeGame(MazeTemplate template, Scanner playerInput)
+    {
+        this.playerInput = playerInput;
+        startFrom(template);
+    }
+
+    /**
+     * Starts a game on a maze read from a source, like text or bytes
+     * already in memory.
+     *
+     * @param source where the maze comes from
+     * @param playerInput the player input
+     * @throws IOException if the source can not be read
+     */
+    public MazeGame(MazeSource source, Scanner playerInput)
+            throws IOException
+    {
+        this(MazeTemplate.load(source), playerInput);
+    }
+
+    /**
+     * Starts a game on a maze read from a source, reading moves
+     * from System.in.
+     *
+     * @param source where the maze comes from
+     * @throws IOException if the source can not be read
+     */
+    public MazeGame(MazeSource source) throws IOException
+    {
+        this(MazeTemplate.load(source));
+    }
+
+    /**
+     * Starts a game on an already loaded maze, reading moves
+     * from System.in.
+     *
+     * @param template the maze
+     */
+    public MazeGame(MazeTemplate template)
+    {
+        this(template, new Scanner(System.in));
+    }
+
 
     /**
      * Play game method.
@@ -75,77 +181,126 @@ public class MazeGame
         do
         {
             prompt();
-            String move = playerInput.next();
-            gameOver = makeMove(move);
+            gameOver = apply(nextMove(), moveCount);
         }
         while (!gameOver);
 
+        if (renderMode == RenderMode.ANSI_DIFF)
+        {
+            printUpdate();
+        }
+
         if (playerAtGoal())
         {
-            System.out.println("You Won!");
+            output.println("You Won!");
         }
         else
         {
-            System.out.println("Goodbye!");
+            output.println("Goodbye!");
         }
 
 
 
     }
 
+    /**
+     * Plays a whole run of moves with no prompting and no drawing.
+     * Moves are read by MoveDecoder, as playGame reads them:
+     * whitespace separated words, going by the first letter, with an
+     * optional count ("d5", "right 12"). Unknown words are skipped
+     * silently.
+     * Stops at the goal or a quit.
+     *
+     * @param moves the moves, like "down down right3 q"
+     * @return how the run ended
+     */
+    public GameOutcome playMoves(CharSequence moves)
+    {
+        return playMoves(new MoveDecoder(moves));
+    }
+
+    /**
+     * Plays a run of moves given as ASCII text, like
+     * playMoves(CharSequence) but straight off the bytes.
+     *
+     * @param moves the moves as ASCII bytes
+     * @return how the run ended
+     */
+    public GameOutcome playMoves(byte[] moves)
+    {
+        return playMoves(new MoveDecoder(moves));
+    }
+
+    /**
+     * Gets a move that takes the player one step nearer the goal,
+     * along a shortest path. The distances to the goal are worked out
+     * once per maze, so after the first call this is a lookup.
+     *
+     * @return the move, or null on the goal or if it can not be
+     *         reached from here
+     */
+    public Move bestNextMove()
+    {
+        return distances().bestMove(player[ROW], player[COL]);
+    }
+
     /**
      * Print maze/board
-     * Print loop to build a board.
+     * The whole board is drawn into a buffer first,
+     * then printed with one write.
      */
     public void printMaze()
     {
-        System.out.print("*");
-        for (int col = 0; col < WIDTH; col++)
+        if (output.isDiscarding())
         {
-            System.out.print("-");
+            return;
         }
-        System.out.println("*");
+        int length = renderer.render(blocked, visited, player, start, goal);
+        output.write(renderer.frame(), 0, length);
+    }
 
-        for (int row = 0; row < HEIGHT; row++)
-        {
-            System.out.print("|");
-            for (int col = 0; col < WIDTH; col++)
-            {
-                if (player[ROW] == row && player[COL] == col)
-                {
-                    System.out.print("@");
-                }
-                else if (start[ROW] == row && start[COL] == col)
-                {
-                    System.out.print("S");
-                }
-                else if (goal[ROW] == row && goal[COL] == col)
-                {
-                    System.out.print("G");
-                }
-                else if (visited[row][col])
-                {
-                    System.out.print(".");
-                }
-                else if (blocked[row][col])
-                {
-                    System.out.print("X");
-                }
-                else
-                {
-                    System.out.print(" ");
-                }
-            }
-            System.out.println("|");
-        }
+    /**
+     * Gets where the board and messages go.
+     *
+     * @return the output
+     */
+    public MazeOutput getOutput()
+    {
+        return output;
+    }
 
-        System.out.print("*");
-        for (int col = 0; col < WIDTH; col++)
-        {
-            System.out.print("-");
-        }
-        System.out.println("*");
+    /**
+     * Sets where the board and messages go. Use MazeOutput.NONE
+     * to skip drawing entirely.
+     *
+     * @param output the output
+     */
+    public void setOutput(MazeOutput output)
+    {
+        this.output = output;
+        renderer.invalidate();
+    }
 
+    /**
+     * Gets how playGame redraws the board.
+     *
+     * @return the render mode
+     */
+    public RenderMode getRenderMode()
+    {
+        return renderMode;
+    }
+
+    /**
+     * Sets how playGame redraws the board. ANSI_DIFF needs a
+     * terminal that understands ANSI cursor commands.
+     *
+     * @param renderMode the render mode
+     */
+    public void setRenderMode(RenderMode renderMode)
+    {
+        this.renderMode = renderMode;
+        renderer.invalidate();
     }
 
     /**
@@ -188,24 +343,106 @@ public class MazeGame
         return start[COL];
     }
 
+    /**
+     * Gets the number of rows in this maze.
+     *
+     * @return the height
+     */
+    public int getHeight()
+    {
+        return height;
+    }
+
+    /**
+     * Gets the number of columns in this maze.
+     *
+     * @return the width
+     */
+    public int getWidth()
+    {
+        return width;
+    }
+
+    /**
+     * Gets the template this game was started from. Later edits
+     * through the setters are not reflected in it.
+     *
+     * @return the template
+     */
+    public MazeTemplate getTemplate()
+    {
+        return template;
+    }
+
     /**
      * Get blocked boolean [ ] [ ].
+     * Unpacked from the bit grid, so it is a copy.
      *
      * @return the boolean [ ] [ ]
      */
     public boolean[][] getBlocked()
     {
-        return copyTwoDimBoolArray(this.blocked);
+        return blocked.toArray();
+    }
+
+    /**
+     * Checks a cell for a wall without copying the grid.
+     * Anything off the board counts as blocked.
+     *
+     * @param row the row
+     * @param col the col
+     * @return true if the cell can not be entered
+     */
+    public boolean isBlocked(int row, int col)
+    {
+        return !valid(row, col);
+    }
+
+    /**
+     * Checks whether the player has been on a cell,
+     * without copying the grid. Off the board is never visited.
+     *
+     * @param row the row
+     * @param col the col
+     * @return true if visited
+     */
+    public boolean isVisited(int row, int col)
+    {
+        return row >= 0 && row < height
+                && col >= 0 && col < width
+                && visited.get(row, col);
+    }
+
+    /**
+     * Gets a read-only view of blocked. The view is live: it tracks
+     * later changes, including setBlocked, and copies nothing.
+     *
+     * @return the blocked view
+     */
+    public GridView getBlockedView()
+    {
+        return blockedView;
+    }
+
+    /**
+     * Gets a read-only view of visited. Live, like getBlockedView.
+     *
+     * @return the visited view
+     */
+    public GridView getVisitedView()
+    {
+        return visitedView;
     }
 
     /**
      * Get visited boolean [ ] [ ].
+     * Unpacked from the bit grid, so it is a copy.
      *
      * @return the boolean [ ] [ ]
      */
     public boolean[][] getVisited()
     {
-        return copyTwoDimBoolArray(this.visited);
+        return visited.toArray();
     }
 
     /**
@@ -245,9 +482,10 @@ public class MazeGame
      */
     public void setPlayerRow(int row)
     {
-        if (row >= 0 && row < HEIGHT)
+        if (row >= 0 && row < height)
         {
             player[ROW] = row;
+            renderer.invalidate();
         }
     }
 
@@ -258,9 +496,10 @@ public class MazeGame
      */
     public void setPlayerCol(int col)
     {
-        if (col >= 0 && col < WIDTH)
+        if (col >= 0 && col < width)
         {
             player[COL] = col;
+            renderer.invalidate();
         }
     }
 
@@ -271,9 +510,12 @@ public class MazeGame
      */
     public void setGoalRow(int row)
     {
-        if (row >= 0 && row < HEIGHT)
+        if (row >= 0 && row < height)
         {
             goal[ROW] = row;
+            distances = null;
+            renderer.invalidate();
+            mazeChanged();
         }
     }
 
@@ -284,9 +526,12 @@ public class MazeGame
      */
     public void setGoalCol(int col)
     {
-        if (col >= 0 && col < WIDTH)
+        if (col >= 0 && col < width)
         {
             goal[COL] = col;
+            distances = null;
+            renderer.invalidate();
+            mazeChanged();
         }
     }
 
@@ -297,9 +542,10 @@ public class MazeGame
      */
     public void setStartRow(int row)
     {
-        if (row >= 0 && row < HEIGHT)
+        if (row >= 0 && row < height)
         {
             start[0] = row;
+            renderer.invalidate();
         }
     }
 
@@ -310,30 +556,98 @@ public class MazeGame
      */
     public void setStartCol(int col)
     {
-        if (col >= 0 && col < WIDTH)
+        if (col >= 0 && col < width)
         {
             start[1] = col;
+            renderer.invalidate();
         }
     }
 
     /**
-     * Sets blocked.
+     * Sets blocked. The maze takes on the size of the new grid,
+     * and visited is cleared if it no longer fits.
+     * The grid is copied, so the template and any other game
+     * sharing it are left alone.
      *
      * @param blocked the blocked
+     * @throws IllegalArgumentException if the rows differ in length
      */
     public void setBlocked(boolean[][] blocked)
     {
-        this.blocked = copyTwoDimBoolArray(blocked);
+        this.blocked = BitGrid.fromArray(blocked);
+        this.height = this.blocked.getHeight();
+        this.width = this.blocked.getWidth();
+
+        if (visited == null || visited.getHeight() != height
+                || visited.getWidth() != width)
+        {
+            this.visited = new BitGrid(height, width);
+        }
+        distances = null;
+        renderer.invalidate();
+        mazeChanged();
+    }
+
+    /**
+     * Opens or walls off one cell. Cells off the board are ignored.
+     * The first edit copies the walls away from the template, so
+     * other games sharing it are left alone. Edit listeners hear
+     * about the cell only if it actually changed.
+     *
+     * @param row the row
+     * @param col the col
+     * @param wall true to block the cell, false to open it
+     */
+    public void setBlockedCell(int row, int col, boolean wall)
+    {
+        if (row < 0 || row >= height || col < 0 || col >= width
+                || blocked.get(row, col) == wall)
+        {
+            return;
+        }
+        if (blocked == template.blocked())
+        {
+            blocked = new BitGrid(blocked);
+        }
+        blocked.set(row, col, wall);
+        distances = null;
+        renderer.markDirty(row, col);
+        for (MazeEditListener listener : editListeners)
+        {
+            listener.cellChanged(row, col);
+        }
+    }
+
+    /**
+     * Adds a listener told about every edit to the walls and goal.
+     *
+     * @param listener the listener
+     */
+    public void addEditListener(MazeEditListener listener)
+    {
+        editListeners.add(listener);
+    }
+
+    /**
+     * Removes an edit listener.
+     *
+     * @param listener the listener
+     */
+    public void removeEditListener(MazeEditListener listener)
+    {
+        editListeners.remove(listener);
     }
 
     /**
      * Sets visited.
      *
-     * @param visited the visited
+     * @param visited the visited, the same size as the maze
+     * @throws IllegalArgumentException if visited is another size
      */
     public void setVisited(boolean[][] visited)
     {
-        this.visited = copyTwoDimBoolArray(visited);
+        this.visited = BitGrid.fromArray(visited, height, width);
+        renderer.invalidate();
     }
 
     /**
@@ -344,10 +658,25 @@ public class MazeGame
     public void setPlayerInput(Scanner playerInput)
     {
         this.playerInput = playerInput;
+        this.moveSource = null;
+        this.lineMoves = null;
     }
 
     /**
-     * Deep copy for our set/get.
+     * Reads moves for playGame straight from a byte stream
+     * instead of the Scanner, so no Strings are made per move.
+     * Setting a Scanner again, or passing null, goes back to
+     * the Scanner.
+     *
+     * @param in the moves as ASCII text, or null
+     */
+    public void setMoveSource(InputStream in)
+    {
+        this.moveSource = in == null ? null : new MoveDecoder(in);
+    }
+
+    /**
+     * Deep copy of a boolean [ ] [ ].
      *
      * @param arrayToCopy array to copy from
      * @return copy of array
@@ -367,15 +696,35 @@ public class MazeGame
     }
 
     /**
-     * PrintMaze() called.
+     * PrintMaze() called, or just the changed cells in ANSI_DIFF mode.
      * Prints message for user input.
      */
     private void prompt()
     {
-        printMaze();
+        if (renderMode == RenderMode.ANSI_DIFF)
+        {
+            printUpdate();
+        }
+        else
+        {
+            printMaze();
+        }
+
+        output.write(PROMPT, 0, PROMPT.length);
+    }
 
-        System.out.print("Enter your move (up, down, left, right, "
-                + "or q to quit): ");
+    /**
+     * Brings an ANSI terminal up to date with one write.
+     */
+    private void printUpdate()
+    {
+        if (output.isDiscarding())
+        {
+            return;
+        }
+        int length = renderer.renderUpdate(blocked, visited,
+                player, start, goal);
+        output.write(renderer.update(), 0, length);
     }
 
     /**
@@ -396,9 +745,9 @@ public class MazeGame
      */
     private boolean valid(int row, int col)
     {
-        return row >= 0 && row < HEIGHT
-                && col >= 0 && col < WIDTH
-                && !blocked[row][col];
+        return row >= 0 && row < height
+                && col >= 0 && col < width
+                && !blocked.get(row, col);
 
     }
 
@@ -409,11 +758,14 @@ public class MazeGame
      */
     private void visit(int row, int col)
     {
-        this.visited[row][col] = true;
+        this.visited.set(row, col);
+        renderer.markDirty(row, col);
     }
 
     /**
      * Loads and reads (eyes) mazeFile.
+     * The parsed maze comes from the MazeTemplate cache, so games
+     * on the same file share one grid of walls.
      *
      * @param mazeFile the mazeFile
      * @throws FileNotFoundException in case not found
@@ -421,47 +773,183 @@ public class MazeGame
 
     private void loadMaze(String mazeFile) throws FileNotFoundException
     {
-        this.blocked = new boolean[HEIGHT][WIDTH];
-        this.visited = new boolean[HEIGHT][WIDTH];
-        this.start = new int[2];
-        this.goal = new int[2];
-        this.player = new int[2];
+        startFrom(MazeTemplate.load(mazeFile));
+    }
 
-        File file = new File(mazeFile);
-        Scanner eyes = new Scanner(file);
+    /**
+     * Sets up the per-game state for a fresh game on template.
+     *
+     * @param maze the maze to play
+     */
+    private void startFrom(MazeTemplate maze)
+    {
+        this.template = maze;
+        this.blocked = maze.blocked();
+        this.height = blocked.getHeight();
+        this.width = blocked.getWidth();
+        this.visited = new BitGrid(height, width);
+        this.start = new int[] {maze.getStartRow(), maze.getStartCol()};
+        this.goal = new int[] {maze.getGoalRow(), maze.getGoalCol()};
+        this.player = new int[] {start[ROW], start[COL]};
+        this.distances = null;
+        renderer.invalidate();
+    }
+
+    /**
+     * Tells the edit listeners the walls or goal changed wholesale.
+     */
+    private void mazeChanged()
+    {
+        for (MazeEditListener listener : editListeners)
+        {
+            listener.mazeChanged();
+        }
+    }
 
-        for (int row = 0; row < blocked.length; row++)
+    /**
+     * Plays every move a decoder gives, stopping at the goal or
+     * a quit.
+     *
+     * @param decoder the moves
+     * @return how the run ended
+     */
+    private GameOutcome playMoves(MoveDecoder decoder)
+    {
+        try
         {
-            for (int col = 0; col < blocked[ROW].length; col++)
+            for (Move move = decoder.next(); move != null;
+                    move = decoder.next())
             {
-                String nextChar = eyes.next();
+                GameOutcome outcome = applyMove(move, decoder.count());
+                if (outcome != GameOutcome.UNFINISHED)
+                {
+                    return outcome;
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+        return playerAtGoal() ? GameOutcome.WON : GameOutcome.UNFINISHED;
+    }
 
-                switch (nextChar)
+    /**
+     * Applies one move for playMoves. Unknown moves do nothing.
+     *
+     * @param move the move
+     * @param count how many cells to go
+     * @return QUIT, WON, or UNFINISHED to keep going
+     */
+    private GameOutcome applyMove(Move move, int count)
+    {
+        if (move == Move.QUIT)
+        {
+            return GameOutcome.QUIT;
+        }
+        run(move, count);
+        return playerAtGoal() ? GameOutcome.WON : GameOutcome.UNFINISHED;
+    }
+
+    /**
+     * Moves the player up to count cells in one direction,
+     * visiting each. Stops early at a wall or the goal.
+     *
+     * @param move the direction
+     * @param count how many cells to go
+     */
+    private void run(Move move, int count)
+    {
+        if (!move.isStep())
+        {
+            return;
+        }
+        for (int i = 0; i < count
+                && step(move.getRowStep(), move.getColStep()); i++)
+        {
+            if (playerAtGoal())
+            {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gets the distance field for the current walls and goal.
+     * Games still on their template's walls and goal share the
+     * template's field.
+     *
+     * @return the distances
+     */
+    private DistanceField distances()
+    {
+        if (distances == null)
+        {
+            distances = blocked == template.blocked()
+                    && goal[ROW] == template.getGoalRow()
+                    && goal[COL] == template.getGoalCol()
+                    ? template.getDistances()
+                    : DistanceField.compute(blocked, goal[ROW], goal[COL]);
+        }
+        return distances;
+    }
+
+    /**
+     * Reads the next move for playGame from the move source if
+     * there is one, otherwise from the Scanner a line at a time.
+     * Both go through MoveDecoder, as playMoves does. Its count is
+     * left in moveCount.
+     *
+     * @return the move
+     * @throws NoSuchElementException if the input runs out
+     */
+    private Move nextMove()
+    {
+        try
+        {
+            if (moveSource != null)
+            {
+                Move move = moveSource.next();
+                if (move == null)
                 {
-                    case "1":
-                        blocked[row][col] = true;
-                        break;
-                    case "0":
-                        blocked[row][col] = false;
-                        break;
-                    case "S":
-                        blocked[row][col] = false;
-                        start[ROW] = row;
-                        start[COL] = col;
-                        player[ROW] = row;
-                        player[COL] = col;
-                        break;
-                    case "G":
-                        blocked[row][col] = false;
-                        goal[ROW] = row;
-                        goal[COL] = col;
-                        break;
-                    default:
-                        System.out.print("Uh oh... -_-");
+                    throw new NoSuchElementException("Out of moves");
                 }
+                moveCount = moveSource.count();
+                return move;
+            }
+            Move move = lineMoves == null ? null : lineMoves.next();
+            while (move == null)
+            {
+                lineMoves = new MoveDecoder(playerInput.nextLine());
+                move = lineMoves.next();
             }
+            moveCount = lineMoves.count();
+            return move;
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Moves the player one cell if it is open, and visits it.
+     *
+     * @param rowStep change in row
+     * @param colStep change in col
+     * @return true if the player moved
+     */
+    private boolean step(int rowStep, int colStep)
+    {
+        if (!valid(player[ROW] + rowStep, player[COL] + colStep))
+        {
+            return false;
         }
-        eyes.close();
+        renderer.markDirty(player[ROW], player[COL]);
+        player[ROW] += rowStep;
+        player[COL] += colStep;
+        visit(player[ROW], player[COL]);
+        return true;
     }
 
     /**
@@ -471,53 +959,71 @@ public class MazeGame
      */
     private boolean makeMove(String move)
     {
-        char direction = move.toLowerCase().charAt(0);
+        return apply(Move.forLetter(move.charAt(0)), 1);
+    }
 
-        switch (direction)
+    /**
+     * Applies a decoded move, complaining about unknown ones.
+     *
+     * @param move the move
+     * @param count how many cells to go
+     * @return true if the game is over
+     */
+    private boolean apply(Move move, int count)
+    {
+        switch (move)
         {
-            case 'q':
+            case QUIT:
                 return true;
-
-            case 'l':
-                if (valid(player[ROW], player[COL] - 1))
-                {
-                    player[COL]--;
-                    visit(player[ROW], player[COL]);
-                }
-                break;
-
-            case 'r':
-                if (valid(player[ROW], player[COL] + 1))
-                {
-                    player[COL]++;
-                    visit(player[ROW], player[COL]);
-                }
-                break;
-            case 'u':
-                if (valid(player[ROW] - 1, player[COL]))
-                {
-                    player[ROW]--;
-                    visit(player[ROW], player[COL]);
-                }
+            case UNKNOWN:
+                output.write(UNKNOWN_MOVE, 0, UNKNOWN_MOVE.length);
                 break;
-            case 'd':
-                if (valid(player[ROW] + 1, player[COL]))
-                {
-                    player[ROW]++;
-                    visit(player[ROW], player[COL]);
-                }
+            case HINT:
+                Move hint = bestNextMove();
+                output.println(hint == null ? "No way to the goal from here"
+                        : "Hint: " + hint.getWord());
                 break;
-
             default:
-                System.out.print("Uh oh... -_-");
+                run(move, count);
                 break;
-
         }
-
         return playerAtGoal();
     }
 
-}
+    /**
+     * Read-only window onto blocked or visited. Looks the grid up on
+     * every read, so it follows the setters swapping grids out.
+     */
+    private final class LiveView implements GridView
+    {
+        private final boolean walls;
+
+        /**
+         * Makes a view.
+         *
+         * @param walls true for blocked, false for visited
+         */
+        private LiveView(boolean walls)
+        {
+            this.walls = walls;
+        }
 
+        @Override
+        public int getHeight()
+        {
+            return height;
+        }
 
+        @Override
+        public int getWidth()
+        {
+            return width;
+        }
 
+        @Override
+        public boolean get(int row, int col)
+        {
+            return walls ? blocked.get(row, col) : visited.get(row, col);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package maze;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Where a MazeGame sends its board, prompts and messages.
+ * Games write whole frames at once, so an output only has to
+ * take a run of bytes. Failures come back as UncheckedIOException.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+@FunctionalInterface
+public interface MazeOutput
+{
+    /**
+     * Throws everything away. Games skip drawing altogether when
+     * they see it, so headless runs pay nothing for the board.
+     */
+    MazeOutput NONE = new MazeOutput()
+    {
+        @Override
+        public void write(byte[] bytes, int offset, int length)
+        {
+        }
+
+        @Override
+        public void print(String text)
+        {
+        }
+
+        @Override
+        public void println(String text)
+        {
+        }
+
+        @Override
+        public boolean isDiscarding()
+        {
+            return true;
+        }
+    };
+
+    /**
+     * Writes a run of bytes.
+     *
+     * @param bytes the buffer
+     * @param offset where the run starts
+     * @param length how many bytes to write
+     */
+    void write(byte[] bytes, int offset, int length);
+
+    /**
+     * Writes text. Games only print plain ASCII.
+     *
+     * @param text what to write
+     */
+    default void print(String text)
+    {
+        byte[] bytes = text.getBytes(StandardCharsets.ISO_8859_1);
+        write(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Writes text and a line separator.
+     *
+     * @param text what to write
+     */
+    default void println(String text)
+    {
+        print(text + System.lineSeparator());
+    }
+
+    /**
+     * Whether this output drops everything.
+     *
+     * @return true if nothing written is kept
+     */
+    default boolean isDiscarding()
+    {
+        return false;
+    }
+
+    /**
+     * Writes to whatever System.out is at the time of each write,
+     * so System.setOut still works on existing games.
+     *
+     * @return the output
+     */
+    static MazeOutput stdout()
+    {
+        return (bytes, offset, length) ->
+        {
+            System.out.write(bytes, offset, length);
+            System.out.flush();
+        };
+    }
+
+    /**
+     * Writes to a stream, flushing after every write.
+     * PrintStreams fit here too.
+     *
+     * @param out the stream
+     * @return the output
+     */
+    static MazeOutput toStream(OutputStream out)
+    {
+        return (bytes, offset, length) ->
+        {
+            try
+            {
+                out.write(bytes, offset, length);
+                out.flush();
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    /**
+     * Appends to a StringBuilder, Writer or other Appendable,
+     * one char per byte.
+     *
+     * @param out the appendable
+     * @return the output
+     */
+    static MazeOutput toAppendable(Appendable out)
+    {
+        return (bytes, offset, length) ->
+        {
+            try
+            {
+                for (int i = offset; i < offset + length; i++)
+                {
+                    out.append((char) (bytes[i] & 0xFF));
+                }
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    /**
+     * Writes to a channel, looping until every byte is taken.
+     *
+     * @param out the channel
+     * @return the output
+     */
+    static MazeOutput toChannel(WritableByteChannel out)
+    {
+        return (bytes, offset, length) ->
+        {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, length);
+            try
+            {
+                while (buffer.hasRemaining())
+                {
+                    out.write(buffer);
+                }
+            }
+            catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+}
@@ -0,0 +1,493 @@
+package maze;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+
+/**
+ * Byte level reader for the text maze format.
+ * Walks the raw bytes of the file and decodes the
+ * 0, 1, S and G tokens straight into the grid,
+ * so no Strings are made per cell.
+ *
+ * <p>The size comes from an optional header line such as
+ * "# 5000 5000" (rows then columns). Without one, the width is the
+ * number of tokens on the first row and the height is the number
+ * of non-blank lines.
+ *
+ * <p>Files up to 2 GB are parsed from one buffer. Bigger files do not
+ * fit in a ByteBuffer, so parse(String) maps them a window at a time
+ * instead; big text mazes then need the header, and each row has to
+ * fit in a window.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public final class MazeParser
+{
+
+    /**
+     * Files at least this big get memory mapped, smaller ones are
+     * read into the heap since mapping has a fixed setup cost.
+     */
+    private static final int MAP_THRESHOLD = 1 << 16;
+
+    /**
+     * Files bigger than this are parsed a window at a time.
+     */
+    static final long MAX_BUFFER = Integer.MAX_VALUE;
+
+    /**
+     * Bytes mapped at once when parsing in windows.
+     */
+    static final int WINDOW = 1 << 30;
+    private static final int COL = 1;
+    private static final int ROW = 0;
+
+    /**
+     * Utility class, no instances.
+     */
+    private MazeParser()
+    {
+    }
+
+    /**
+     * Reads mazeFile, sizing the grid from the file itself.
+     *
+     * @param mazeFile the maze file
+     * @param start gets the [row, col] of S
+     * @param goal gets the [row, col] of G
+     * @return the blocked grid
+     * @throws FileNotFoundException in case not found
+     */
+    public static BitGrid parse(String mazeFile, int[] start, int[] goal)
+            throws FileNotFoundException
+    {
+        return parse(Paths.get(mazeFile), start, goal, MAX_BUFFER, WINDOW);
+    }
+
+    /**
+     * Reads a maze file of any size, a window at a time if it is too
+     * big for one buffer.
+     *
+     * @param path the maze file
+     * @param start gets the [row, col] of S
+     * @param goal gets the [row, col] of G
+     * @param maxBuffer files bigger than this are read in windows
+     * @param window bytes mapped at once
+     * @return the blocked grid
+     * @throws FileNotFoundException in case not found
+     * @throws IllegalArgumentException if a big text maze has no
+     *     header or a row longer than a window
+     */
+    static BitGrid parse(Path path, int[] start, int[] goal,
+            long maxBuffer, int window) throws FileNotFoundException
+    {
+        FileChannel channel = open(path);
+        try (channel)
+        {
+            long size = channel.size();
+            if (size <= maxBuffer)
+            {
+                return parse(read(channel, size), start, goal);
+            }
+            ByteBuffer first = channel.map(FileChannel.MapMode.READ_ONLY,
+                    0, Math.min(size, window));
+            if (BinaryMazeFormat.isBinary(first))
+            {
+                return BinaryMazeFormat.read(channel, window, start, goal);
+            }
+            return parseWindows(channel, first, window, start, goal);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Decodes maze text from bytes, sizing the grid from the text.
+     * Binary mazes are passed on to BinaryMazeFormat.
+     * Reads from the buffer's position up to its limit
+     * without moving either.
+     *
+     * @param bytes the maze text
+     * @param start gets the [row, col] of S
+     * @param goal gets the [row, col] of G
+     * @return the blocked grid
+     * @throws NoSuchElementException if the text runs out of cells
+     * @throws IllegalArgumentException if the header is malformed
+     */
+    public static BitGrid parse(ByteBuffer bytes, int[] start, int[] goal)
+    {
+        if (BinaryMazeFormat.isBinary(bytes))
+        {
+            return BinaryMazeFormat.read(bytes, start, goal);
+        }
+
+        int[] size = new int[2];
+        int body = readSize(bytes, size);
+        BitGrid blocked = new BitGrid(size[ROW], size[COL]);
+
+        ByteBuffer cells = bytes.duplicate();
+        cells.position(body);
+        parse(cells, blocked, start, goal);
+        return blocked;
+    }
+
+    /**
+     * Decodes maze text from bytes into blocked, start and goal.
+     * Reads from the buffer's position up to its limit
+     * without moving either. Bits are gathered a word at a time,
+     * so every cell of blocked is overwritten.
+     *
+     * @param bytes the maze text
+     * @param blocked grid to fill, sized to the maze
+     * @param start gets the [row, col] of S
+     * @param goal gets the [row, col] of G
+     * @throws NoSuchElementException if the text runs out of cells
+     */
+    public static void parse(ByteBuffer bytes, BitGrid blocked,
+            int[] start, int[] goal)
+    {
+        int pos = bytes.position();
+        for (int row = 0; row < blocked.getHeight(); row++)
+        {
+            pos = parseRow(bytes, pos, row, blocked, start, goal, true);
+        }
+    }
+
+    /**
+     * Parses a text maze too big for one buffer, mapping a window at
+     * a time and moving the window up to the row that did not fit.
+     *
+     * @param channel the open file
+     * @param first the first window
+     * @param window bytes mapped at once
+     * @param start gets the [row, col] of S
+     * @param goal gets the [row, col] of G
+     * @return the blocked grid
+     * @throws IOException if the file can not be mapped
+     */
+    private static BitGrid parseWindows(FileChannel channel,
+            ByteBuffer first, int window, int[] start, int[] goal)
+            throws IOException
+    {
+        int pos = skipBlankLines(first, 0);
+        if (pos == first.limit() || first.get(pos) != '#')
+        {
+            throw new IllegalArgumentException(
+                    "Text mazes over 2 GB need a \"# rows cols\" header");
+        }
+        int[] size = new int[2];
+        pos = readSize(first, size);
+        BitGrid blocked = new BitGrid(size[ROW], size[COL]);
+
+        long fileSize = channel.size();
+        long base = 0;
+        ByteBuffer bytes = first;
+        int row = 0;
+        while (row < size[ROW])
+        {
+            boolean last = base + bytes.limit() == fileSize;
+            int next = parseRow(bytes, pos, row, blocked, start, goal, last);
+            if (next >= 0)
+            {
+                pos = next;
+                row++;
+            }
+            else if (pos == 0)
+            {
+                throw new IllegalArgumentException("Row " + row
+                        + " is longer than " + window + " bytes");
+            }
+            else
+            {
+                base += pos;
+                bytes = channel.map(FileChannel.MapMode.READ_ONLY, base,
+                        Math.min(fileSize - base, window));
+                pos = 0;
+            }
+        }
+        return blocked;
+    }
+
+    /**
+     * Decodes one row of tokens into blocked, start and goal.
+     *
+     * @param bytes the maze text
+     * @param pos where the row starts
+     * @param row the row
+     * @param blocked grid to fill, sized to the maze
+     * @param start gets the [row, col] of S
+     * @param goal gets the [row, col] of G
+     * @param last true if the buffer ends where the maze does
+     * @return where the row ends, or -1 if the buffer ended first
+     *     and is not the last
+     * @throws NoSuchElementException if the last buffer runs out
+     */
+    private static int parseRow(ByteBuffer bytes, int pos, int row,
+            BitGrid blocked, int[] start, int[] goal, boolean last)
+    {
+        int limit = bytes.limit();
+        int width = blocked.getWidth();
+        int offset = row * blocked.stride();
+        long[] words = blocked.words();
+        long bits = 0;
+        for (int col = 0; col < width; col++)
+        {
+            while (pos < limit && isSpace(bytes.get(pos)))
+            {
+                pos++;
+            }
+            if (pos == limit)
+            {
+                if (!last)
+                {
+                    return -1;
+                }
+                throw new NoSuchElementException(
+                        "Maze ended at row " + row + ", col " + col);
+            }
+
+            byte token = bytes.get(pos++);
+            if (pos < limit && !isSpace(bytes.get(pos)))
+            {
+                while (pos < limit && !isSpace(bytes.get(pos)))
+                {
+                    pos++;
+                }
+                token = 0;
+            }
+            if (pos == limit && !last)
+            {
+                return -1;
+            }
+
+            switch (token)
+            {
+                case '1':
+                    bits |= 1L << col;
+                    break;
+                case '0':
+                    break;
+                case 'S':
+                    start[ROW] = row;
+                    start[COL] = col;
+                    break;
+                case 'G':
+                    goal[ROW] = row;
+                    goal[COL] = col;
+                    break;
+                default:
+                    System.out.print("Uh oh... -_-");
+            }
+
+            if ((col & (BitGrid.WORD_BITS - 1)) == BitGrid.WORD_BITS - 1
+                    || col == width - 1)
+            {
+                words[offset + (col >>> BitGrid.ADDRESS_SHIFT)] = bits;
+                bits = 0;
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * Works out the maze size from the header or the rows.
+     *
+     * @param bytes the maze text
+     * @param size gets the [rows, cols]
+     * @return index of the first cell token
+     * @throws NoSuchElementException if there are no rows
+     * @throws IllegalArgumentException if the header is malformed
+     */
+    static int readSize(ByteBuffer bytes, int[] size)
+    {
+        int pos = skipBlankLines(bytes, bytes.position());
+        int limit = bytes.limit();
+
+        if (pos < limit && bytes.get(pos) == '#')
+        {
+            int lineEnd = endOfLine(bytes, pos);
+            pos++;
+            for (int i = 0; i < 2; i++)
+            {
+                while (pos < lineEnd && isSpace(bytes.get(pos)))
+                {
+                    pos++;
+                }
+                int value = 0;
+                int digits = 0;
+                while (pos < lineEnd && bytes.get(pos) >= '0'
+                        && bytes.get(pos) <= '9')
+                {
+                    value = Math.multiplyExact(value, 10)
+                            + bytes.get(pos++) - '0';
+                    digits++;
+                }
+                if (digits == 0 || value == 0)
+                {
+                    throw new IllegalArgumentException(
+                            "Maze header should be \"# rows cols\"");
+                }
+                size[i] = value;
+            }
+            return lineEnd;
+        }
+
+        int cols = 0;
+        int lineEnd = endOfLine(bytes, pos);
+        for (int i = pos; i < lineEnd; i++)
+        {
+            if (!isSpace(bytes.get(i))
+                    && (i == pos || isSpace(bytes.get(i - 1))))
+            {
+                cols++;
+            }
+        }
+
+        if (pos == limit)
+        {
+            throw new NoSuchElementException("Maze is empty");
+        }
+        int rows = 0;
+        for (int i = pos; i < limit;
+                i = skipBlankLines(bytes, endOfLine(bytes, i)))
+        {
+            rows++;
+        }
+        size[ROW] = rows;
+        size[COL] = cols;
+        return pos;
+    }
+
+    /**
+     * Pulls the whole file into a buffer. Big files are mapped.
+     * A buffer holds at most 2 GB, so bigger files are refused;
+     * parse(String) reads those in windows.
+     *
+     * @param path the file
+     * @return buffer holding the file
+     * @throws FileNotFoundException in case not found
+     * @throws IllegalArgumentException if the file is over 2 GB
+     */
+    static ByteBuffer read(Path path) throws FileNotFoundException
+    {
+        FileChannel channel = open(path);
+        try (channel)
+        {
+            long size = channel.size();
+            if (size > MAX_BUFFER)
+            {
+                throw new IllegalArgumentException(path + " is over 2 GB;"
+                        + " load it with MazeParser.parse(String)");
+            }
+            return read(channel, size);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Opens a file for reading.
+     *
+     * @param path the file
+     * @return the channel
+     * @throws FileNotFoundException in case not found
+     */
+    private static FileChannel open(Path path) throws FileNotFoundException
+    {
+        try
+        {
+            return FileChannel.open(path, StandardOpenOption.READ);
+        }
+        catch (IOException e)
+        {
+            FileNotFoundException notFound =
+                    new FileNotFoundException(path.toString());
+            notFound.initCause(e);
+            throw notFound;
+        }
+    }
+
+    /**
+     * Pulls a whole file of at most 2 GB into a buffer, mapping it if
+     * it is big.
+     *
+     * @param channel the open file
+     * @param size its size
+     * @return buffer holding the file
+     * @throws IOException if the file can not be read
+     */
+    private static ByteBuffer read(FileChannel channel, long size)
+            throws IOException
+    {
+        if (size >= MAP_THRESHOLD)
+        {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        while (buffer.hasRemaining() && channel.read(buffer) >= 0)
+        {
+            continue;
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Finds the end of the line pos is on.
+     *
+     * @param bytes the maze text
+     * @param pos somewhere in the line
+     * @return index of the newline, or the limit
+     */
+    private static int endOfLine(ByteBuffer bytes, int pos)
+    {
+        int limit = bytes.limit();
+        while (pos < limit && bytes.get(pos) != '\n')
+        {
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * Skips whitespace, landing on the first token.
+     *
+     * @param bytes the maze text
+     * @param pos where to start
+     * @return index of the next token, or the limit
+     */
+    private static int skipBlankLines(ByteBuffer bytes, int pos)
+    {
+        int limit = bytes.limit();
+        while (pos < limit && isSpace(bytes.get(pos)))
+        {
+            pos++;
+        }
+        return pos;
+    }
+
+    /**
+     * Whitespace check matching the delimiters Scanner skips.
+     *
+     * @param b byte to check
+     * @return true for space, tabs and line breaks
+     */
+    private static boolean isSpace(byte b)
+    {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t'
+                || b == '\f' || b == 0x0B;
+    }
+}
@@ -0,0 +1,115 @@
+package maze;
+
+/**
+ * A path through a maze, one cell after another from the start to
+ * the goal. Cells are stored as row * width + col.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public final class MazePath
+{
+    private final int width;
+    private final int[] cells;
+
+    /**
+     * Wraps cells without copying.
+     *
+     * @param width width of the maze, to decode the cells
+     * @param cells the cells, start first
+     */
+    MazePath(int width, int[] cells)
+    {
+        this.width = width;
+        this.cells = cells;
+    }
+
+    /**
+     * Gets the number of moves, one less than the number of cells.
+     *
+     * @return the length
+     */
+    public int length()
+    {
+        return cells.length - 1;
+    }
+
+    /**
+     * Gets the row of a cell on the path.
+     *
+     * @param index 0 for the start, length() for the goal
+     * @return the row
+     */
+    public int getRow(int index)
+    {
+        return cells[index] / width;
+    }
+
+    /**
+     * Gets the col of a cell on the path.
+     *
+     * @param index 0 for the start, length() for the goal
+     * @return the col
+     */
+    public int getCol(int index)
+    {
+        return cells[index] % width;
+    }
+
+    /**
+     * Gets a move along the path.
+     *
+     * @param index 0 for the first move
+     * @return the move from cell index to cell index + 1
+     */
+    public Move getMove(int index)
+    {
+        int step = cells[index + 1] - cells[index];
+        if (step == width)
+        {
+            return Move.DOWN;
+        }
+        if (step == -width)
+        {
+            return Move.UP;
+        }
+        return step > 0 ? Move.RIGHT : Move.LEFT;
+    }
+
+    /**
+     * Gets the moves as a player would type them.
+     *
+     * @return words like "up", one per move
+     */
+    public String[] toMoves()
+    {
+        String[] moves = new String[length()];
+        for (int i = 0; i < moves.length; i++)
+        {
+            moves[i] = getMove(i).getWord();
+        }
+        return moves;
+    }
+
+    /**
+     * Gets the moves as input for playGame or playMoves,
+     * each followed by a newline.
+     *
+     * @return the moves
+     */
+    public String toInput()
+    {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < length(); i++)
+        {
+            input.append(getMove(i).getWord()).append('\n');
+        }
+        return input.toString();
+    }
+
+    @Override
+    public String toString()
+    {
+        return toInput();
+    }
+}
@@ -0,0 +1,332 @@
+package maze;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Draws a whole maze frame into one reusable byte buffer,
+ * so a frame goes out in a single write.
+ * The layout is the same as the old cell by cell printMaze:
+ * a border of * and -, then one | framed line per row.
+ *
+ * <p>It also keeps a list of dirty cells so a terminal that already
+ * shows the board can be brought up to date with a few ANSI cursor
+ * moves instead of a whole new frame.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+final class MazeRenderer
+{
+    private static final int COL = 1;
+    private static final int ROW = 0;
+    private static final byte[] NEWLINE =
+            System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CLEAR_SCREEN =
+            "\u001b[H\u001b[2J".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CLEAR_BELOW =
+            "\u001b[J".getBytes(StandardCharsets.US_ASCII);
+    private static final byte ESCAPE = 0x1b;
+
+    /**
+     * Past this many changed cells a whole frame is cheaper to send.
+     */
+    private static final int MAX_DIRTY = 1 << 12;
+    private static final int DIGITS = 10;
+    private static final int DIRTY_START = 16;
+    private byte[] frame = new byte[0];
+    private int frameHeight = -1;
+    private int frameWidth = -1;
+    private byte[] update = new byte[MAX_DIRTY];
+    private int updateLength;
+    private int[] dirty = new int[DIRTY_START];
+    private int dirtyCount;
+    private boolean stale = true;
+
+    /**
+     * Draws the maze into the frame buffer.
+     *
+     * @param blocked the walls
+     * @param visited the visited cells
+     * @param player the [row, col] of the player
+     * @param start the [row, col] of the start
+     * @param goal the [row, col] of the goal
+     * @return number of bytes in the frame
+     */
+    int render(BitGrid blocked, BitGrid visited,
+            int[] player, int[] start, int[] goal)
+    {
+        int height = blocked.getHeight();
+        int width = blocked.getWidth();
+        if (height != frameHeight || width != frameWidth)
+        {
+            layOut(height, width);
+        }
+
+        int lineBytes = lineBytes(width);
+        for (int row = 0; row < height; row++)
+        {
+            int pos = (row + 1) * lineBytes + 1;
+            for (int col = 0; col < width; col++)
+            {
+                frame[pos++] = cell(blocked, visited, player, start, goal,
+                        row, col);
+            }
+        }
+        return frameLength();
+    }
+
+    /**
+     * Notes that a cell needs redrawing on the next update.
+     *
+     * @param row the row
+     * @param col the col
+     */
+    void markDirty(int row, int col)
+    {
+        if (stale)
+        {
+            return;
+        }
+        if (dirtyCount == MAX_DIRTY)
+        {
+            invalidate();
+            return;
+        }
+        if (dirtyCount == dirty.length)
+        {
+            dirty = Arrays.copyOf(dirty, dirty.length * 2);
+        }
+        dirty[dirtyCount++] = row * frameWidth + col;
+    }
+
+    /**
+     * Forgets what the terminal shows, so the next update is a
+     * whole frame.
+     */
+    void invalidate()
+    {
+        stale = true;
+        dirtyCount = 0;
+    }
+
+    /**
+     * Builds what the terminal needs to catch up: a cleared screen
+     * and a whole frame the first time, just the dirty cells after
+     * that. Either way it ends with the cursor at the start of the
+     * line under the board, with everything from there down cleared,
+     * so hints and messages printed since the last frame go too.
+     *
+     * @param blocked the walls
+     * @param visited the visited cells
+     * @param player the [row, col] of the player
+     * @param start the [row, col] of the start
+     * @param goal the [row, col] of the goal
+     * @return number of bytes in the update
+     */
+    int renderUpdate(BitGrid blocked, BitGrid visited,
+            int[] player, int[] start, int[] goal)
+    {
+        updateLength = 0;
+        if (stale || blocked.getHeight() != frameHeight
+                || blocked.getWidth() != frameWidth)
+        {
+            int length = render(blocked, visited, player, start, goal);
+            append(CLEAR_SCREEN);
+            ensureRoom(length);
+            System.arraycopy(frame, 0, update, updateLength, length);
+            updateLength += length;
+            stale = false;
+        }
+        else
+        {
+            for (int i = 0; i < dirtyCount; i++)
+            {
+                int row = dirty[i] / frameWidth;
+                int col = dirty[i] % frameWidth;
+                moveCursor(row + 2, col + 2);
+                ensureRoom(1);
+                update[updateLength++] = cell(blocked, visited,
+                        player, start, goal, row, col);
+            }
+            moveCursor(frameHeight + 3, 1);
+            append(CLEAR_BELOW);
+        }
+        dirtyCount = 0;
+        return updateLength;
+    }
+
+    /**
+     * The buffer filled by the last renderUpdate.
+     *
+     * @return the update bytes, not a copy
+     */
+    byte[] update()
+    {
+        return update;
+    }
+
+    /**
+     * The buffer filled by the last render.
+     *
+     * @return the frame bytes, not a copy
+     */
+    byte[] frame()
+    {
+        return frame;
+    }
+
+    /**
+     * Picks what to draw for one cell.
+     *
+     * @param blocked the walls
+     * @param visited the visited cells
+     * @param player the [row, col] of the player
+     * @param start the [row, col] of the start
+     * @param goal the [row, col] of the goal
+     * @param row the row
+     * @param col the col
+     * @return the character to draw
+     */
+    static byte cell(BitGrid blocked, BitGrid visited,
+            int[] player, int[] start, int[] goal, int row, int col)
+    {
+        if (player[ROW] == row && player[COL] == col)
+        {
+            return '@';
+        }
+        else if (start[ROW] == row && start[COL] == col)
+        {
+            return 'S';
+        }
+        else if (goal[ROW] == row && goal[COL] == col)
+        {
+            return 'G';
+        }
+        else if (visited.get(row, col))
+        {
+            return '.';
+        }
+        else if (blocked.get(row, col))
+        {
+            return 'X';
+        }
+        else
+        {
+            return ' ';
+        }
+    }
+
+    /**
+     * Resizes the buffer and draws the parts that never change:
+     * the top and bottom borders and the side walls.
+     *
+     * @param height rows in the maze
+     * @param width columns in the maze
+     */
+    private void layOut(int height, int width)
+    {
+        frameHeight = height;
+        frameWidth = width;
+        int lineBytes = lineBytes(width);
+        frame = new byte[frameLength()];
+
+        for (int line = 0; line < height + 2; line++)
+        {
+            int pos = line * lineBytes;
+            boolean border = line == 0 || line == height + 1;
+            frame[pos] = (byte) (border ? '*' : '|');
+            for (int col = 1; col <= width; col++)
+            {
+                frame[pos + col] = (byte) (border ? '-' : ' ');
+            }
+            frame[pos + width + 1] = (byte) (border ? '*' : '|');
+            System.arraycopy(NEWLINE, 0, frame, pos + width + 2,
+                    NEWLINE.length);
+        }
+    }
+
+    /**
+     * Adds an ANSI cursor position command to the update.
+     *
+     * @param line terminal line, from 1
+     * @param column terminal column, from 1
+     */
+    private void moveCursor(int line, int column)
+    {
+        ensureRoom(2 * DIGITS + 4);
+        update[updateLength++] = ESCAPE;
+        update[updateLength++] = '[';
+        appendInt(line);
+        update[updateLength++] = ';';
+        appendInt(column);
+        update[updateLength++] = 'H';
+    }
+
+    /**
+     * Writes a non-negative int in decimal without making a String.
+     *
+     * @param value the number
+     */
+    private void appendInt(int value)
+    {
+        int digits = 1;
+        for (int rest = value / DIGITS; rest > 0; rest /= DIGITS)
+        {
+            digits++;
+        }
+        for (int i = digits - 1; i >= 0; i--)
+        {
+            update[updateLength + i] = (byte) ('0' + value % DIGITS);
+            value /= DIGITS;
+        }
+        updateLength += digits;
+    }
+
+    /**
+     * Adds bytes to the update.
+     *
+     * @param bytes what to add
+     */
+    private void append(byte[] bytes)
+    {
+        ensureRoom(bytes.length);
+        System.arraycopy(bytes, 0, update, updateLength, bytes.length);
+        updateLength += bytes.length;
+    }
+
+    /**
+     * Grows the update buffer if needed.
+     *
+     * @param extra bytes about to be added
+     */
+    private void ensureRoom(int extra)
+    {
+        if (updateLength + extra > update.length)
+        {
+            update = Arrays.copyOf(update,
+                    Math.max(update.length * 2, updateLength + extra));
+        }
+    }
+
+    /**
+     * Bytes in one printed line.
+     *
+     * @param width columns in the maze
+     * @return line length including the line separator
+     */
+    private static int lineBytes(int width)
+    {
+        return width + 2 + NEWLINE.length;
+    }
+
+    /**
+     * Bytes in the current frame.
+     *
+     * @return the frame length
+     */
+    private int frameLength()
+    {
+        return Math.multiplyExact(frameHeight + 2, lineBytes(frameWidth));
+    }
+}
@@ -0,0 +1,38 @@
+package maze;
+
+/**
+ * Finds a way through a maze. Solvers keep scratch arrays between
+ * solves so repeated solves on one maze do not allocate, which also
+ * means one solver must not be shared between threads.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public interface MazeSolver
+{
+    /**
+     * Finds a path from start to goal over the open cells.
+     *
+     * @param blocked the walls
+     * @param startRow row to start from
+     * @param startCol col to start from
+     * @param goalRow row to reach
+     * @param goalCol col to reach
+     * @return the path, or null if the goal can not be reached
+     * @throws IllegalArgumentException if start or goal is off the grid
+     */
+    MazePath solve(GridView blocked, int startRow, int startCol,
+            int goalRow, int goalCol);
+
+    /**
+     * Finds a path from where the player stands to the goal.
+     *
+     * @param game the game
+     * @return the path, or null if the goal can not be reached
+     */
+    default MazePath solve(MazeGame game)
+    {
+        return solve(game.getBlockedView(), game.getPlayerRow(),
+                game.getPlayerCol(), game.getGoalRow(), game.getGoalCol());
+    }
+}
@@ -0,0 +1,111 @@
+package maze;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Where a maze's bytes come from, text or binary, so a maze held in
+ * memory can be loaded without first writing it to a file. Sources
+ * hand the parser one buffer holding the whole maze.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+@FunctionalInterface
+public interface MazeSource
+{
+    /**
+     * Gets the maze bytes, from the buffer's position to its limit.
+     *
+     * @return the maze
+     * @throws IOException if the bytes can not be read
+     */
+    ByteBuffer read() throws IOException;
+
+    /**
+     * Reads maze text, one char per byte.
+     *
+     * @param text the maze, like "S 0 1\n0 0 G\n"
+     * @return the source
+     */
+    static MazeSource fromText(CharSequence text)
+    {
+        return () -> StandardCharsets.ISO_8859_1.encode(
+                CharBuffer.wrap(text));
+    }
+
+    /**
+     * Reads maze bytes from an array, without copying it.
+     *
+     * @param bytes the maze, text or binary
+     * @return the source
+     */
+    static MazeSource fromBytes(byte[] bytes)
+    {
+        return () -> ByteBuffer.wrap(bytes);
+    }
+
+    /**
+     * Reads maze bytes from a buffer's position to its limit, without
+     * copying it or moving either.
+     *
+     * @param bytes the maze, text or binary
+     * @return the source
+     */
+    static MazeSource fromBuffer(ByteBuffer bytes)
+    {
+        return bytes::duplicate;
+    }
+
+    /**
+     * Reads maze bytes from a stream, to its end. The stream is left
+     * open, and a second read gets whatever it has left.
+     *
+     * @param in the maze, text or binary
+     * @return the source
+     */
+    static MazeSource fromStream(InputStream in)
+    {
+        return () -> ByteBuffer.wrap(in.readAllBytes());
+    }
+
+    /**
+     * Reads a maze file. Big files are mapped, but one buffer holds
+     * at most 2 GB; MazeTemplate.load(String) reads bigger files.
+     *
+     * @param path the file, text or binary
+     * @return the source
+     */
+    static MazeSource fromPath(Path path)
+    {
+        return () -> MazeParser.read(path);
+    }
+
+    /**
+     * Reads a maze from the classpath, like a maze bundled in a jar.
+     *
+     * @param name the resource name, like "mazes/small.txt"
+     * @return the source
+     */
+    static MazeSource fromResource(String name)
+    {
+        return () ->
+        {
+            ClassLoader loader = MazeSource.class.getClassLoader();
+            try (InputStream in = loader.getResourceAsStream(name))
+            {
+                if (in == null)
+                {
+                    throw new FileNotFoundException(
+                            "No resource " + name);
+                }
+                return ByteBuffer.wrap(in.readAllBytes());
+            }
+        };
+    }
+}
@@ -0,0 +1,357 @@
+package maze;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A parsed maze: the walls, start, goal and size, with none of the
+ * per-game state. Templates never change once made, so any number
+ * of MazeGames, on any threads, can share one.
+ *
+ * <p>load caches templates by file path. A cached template is reused
+ * while the file keeps the same size and modified time. Files modified
+ * within a couple of seconds of being loaded are always parsed again,
+ * since a quick rewrite can leave the modified time unchanged.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public final class MazeTemplate
+{
+
+    /**
+     * Files changed this close to their load are not trusted
+     * to show the change in their modified time.
+     */
+    private static final long RACY_MILLIS = 2000;
+    private static final int COL = 1;
+    private static final int ROW = 0;
+    private static final ConcurrentMap<Path, SoftReference<CacheEntry>>
+            CACHE = new ConcurrentHashMap<>();
+    private final BitGrid blocked;
+    private final GridView blockedView;
+    private final int[] start;
+    private final int[] goal;
+    private volatile DistanceField distances;
+    private volatile Boolean solvable;
+
+    /**
+     * Wraps blocked without copying. The template owns the grid.
+     *
+     * @param blocked the walls
+     * @param start the [row, col] of the start
+     * @param goal the [row, col] of the goal
+     */
+    private MazeTemplate(BitGrid blocked, int[] start, int[] goal)
+    {
+        this.blocked = blocked;
+        this.blockedView = blocked.readOnlyView();
+        this.start = new int[] {start[ROW], start[COL]};
+        this.goal = new int[] {goal[ROW], goal[COL]};
+    }
+
+    /**
+     * Makes a template from a copy of blocked.
+     *
+     * @param blocked the walls
+     * @param start the [row, col] of the start
+     * @param goal the [row, col] of the goal
+     * @return the template
+     */
+    public static MazeTemplate of(GridView blocked, int[] start, int[] goal)
+    {
+        BitGrid walls = blocked instanceof BitGrid
+                ? new BitGrid((BitGrid) blocked)
+                : BitGrid.fromArray(blocked.toArray());
+        return new MazeTemplate(walls, start, goal);
+    }
+
+    /**
+     * Makes a template that takes over blocked without copying.
+     * The caller must not write to the grid afterwards.
+     *
+     * @param blocked the walls
+     * @param start the [row, col] of the start
+     * @param goal the [row, col] of the goal
+     * @return the template
+     */
+    static MazeTemplate wrap(BitGrid blocked, int[] start, int[] goal)
+    {
+        return new MazeTemplate(blocked, start, goal);
+    }
+
+    /**
+     * Gets the template for mazeFile, parsing it only if it is not
+     * cached or the file has changed.
+     *
+     * @param mazeFile the maze file, text or binary
+     * @return the template
+     * @throws FileNotFoundException in case not found
+     */
+    public static MazeTemplate load(String mazeFile)
+            throws FileNotFoundException
+    {
+        Path path = Paths.get(mazeFile).toAbsolutePath().normalize();
+        BasicFileAttributes attributes = attributes(path);
+
+        SoftReference<CacheEntry> ref = CACHE.get(path);
+        CacheEntry cached = ref == null ? null : ref.get();
+        if (cached != null && cached.matches(attributes))
+        {
+            return cached.template;
+        }
+
+        long loadedAt = System.currentTimeMillis();
+        int[] start = new int[2];
+        int[] goal = new int[2];
+        BitGrid blocked = MazeParser.parse(path, start, goal,
+                MazeParser.MAX_BUFFER, MazeParser.WINDOW);
+        MazeTemplate template = new MazeTemplate(blocked, start, goal);
+        CACHE.put(path, new SoftReference<>(
+                new CacheEntry(template, attributes, loadedAt)));
+        return template;
+    }
+
+    /**
+     * Gets the template for mazeFile like load, but only if the goal
+     * can be reached from the start. The check grows a wavefront over
+     * whole words of the walls rather than searching cell by cell.
+     *
+     * @param mazeFile the maze file, text or binary
+     * @return the template
+     * @throws FileNotFoundException in case not found
+     * @throws IllegalArgumentException if the maze has no solution
+     */
+    public static MazeTemplate loadSolvable(String mazeFile)
+            throws FileNotFoundException
+    {
+        MazeTemplate template = load(mazeFile);
+        if (!template.isSolvable())
+        {
+            throw new IllegalArgumentException(
+                    "No way from S to G in " + mazeFile);
+        }
+        return template;
+    }
+
+    /**
+     * Reads and parses a maze from a source, without touching
+     * the cache.
+     *
+     * @param source where the maze comes from
+     * @return the template
+     * @throws IOException if the source can not be read
+     */
+    public static MazeTemplate load(MazeSource source) throws IOException
+    {
+        return parse(source.read());
+    }
+
+    /**
+     * Parses maze bytes without touching the cache.
+     *
+     * @param bytes the maze, text or binary
+     * @return the template
+     */
+    public static MazeTemplate parse(ByteBuffer bytes)
+    {
+        int[] start = new int[2];
+        int[] goal = new int[2];
+        BitGrid blocked = MazeParser.parse(bytes, start, goal);
+        return new MazeTemplate(blocked, start, goal);
+    }
+
+    /**
+     * Forgets every cached template.
+     */
+    public static void clearCache()
+    {
+        CACHE.clear();
+    }
+
+    /**
+     * Gets the number of rows.
+     *
+     * @return the height
+     */
+    public int getHeight()
+    {
+        return blocked.getHeight();
+    }
+
+    /**
+     * Gets the number of columns.
+     *
+     * @return the width
+     */
+    public int getWidth()
+    {
+        return blocked.getWidth();
+    }
+
+    /**
+     * Gets start row.
+     *
+     * @return the start row
+     */
+    public int getStartRow()
+    {
+        return start[ROW];
+    }
+
+    /**
+     * Gets start column.
+     *
+     * @return the start col
+     */
+    public int getStartCol()
+    {
+        return start[COL];
+    }
+
+    /**
+     * Gets goal row.
+     *
+     * @return the goal row
+     */
+    public int getGoalRow()
+    {
+        return goal[ROW];
+    }
+
+    /**
+     * Gets goal col.
+     *
+     * @return the goal col
+     */
+    public int getGoalCol()
+    {
+        return goal[COL];
+    }
+
+    /**
+     * Gets a read-only view of the walls.
+     *
+     * @return the blocked view
+     */
+    public GridView getBlockedView()
+    {
+        return blockedView;
+    }
+
+    /**
+     * Checks whether the goal can be reached from the start,
+     * working it out the first time it is asked.
+     *
+     * @return true if the maze has a solution
+     */
+    public boolean isSolvable()
+    {
+        Boolean answer = solvable;
+        if (answer == null)
+        {
+            answer = new WavefrontReachability(blocked).isReachable(
+                    start[ROW], start[COL], goal[ROW], goal[COL]);
+            solvable = answer;
+        }
+        return answer;
+    }
+
+    /**
+     * Gets every open cell's distance to the goal, computed the
+     * first time it is asked for and then shared.
+     *
+     * @return the distances
+     */
+    public DistanceField getDistances()
+    {
+        DistanceField field = distances;
+        if (field == null)
+        {
+            field = DistanceField.compute(blocked, goal[ROW], goal[COL]);
+            distances = field;
+        }
+        return field;
+    }
+
+    /**
+     * The shared walls. Whoever gets this must copy before writing.
+     *
+     * @return the walls, not a copy
+     */
+    BitGrid blocked()
+    {
+        return blocked;
+    }
+
+    /**
+     * Reads the size and modified time of the file.
+     *
+     * @param path the file
+     * @return its attributes
+     * @throws FileNotFoundException in case not found
+     */
+    private static BasicFileAttributes attributes(Path path)
+            throws FileNotFoundException
+    {
+        try
+        {
+            return Files.readAttributes(path, BasicFileAttributes.class);
+        }
+        catch (IOException e)
+        {
+            FileNotFoundException notFound =
+                    new FileNotFoundException(path.toString());
+            notFound.initCause(e);
+            throw notFound;
+        }
+    }
+
+    /**
+     * A cached template and the file state it was parsed from.
+     */
+    private static final class CacheEntry
+    {
+        private final MazeTemplate template;
+        private final long size;
+        private final FileTime modified;
+        private final boolean racy;
+
+        /**
+         * Makes an entry.
+         *
+         * @param template the parsed maze
+         * @param attributes the file's attributes before parsing
+         * @param loadedAt when parsing started, in epoch millis
+         */
+        private CacheEntry(MazeTemplate template,
+                BasicFileAttributes attributes, long loadedAt)
+        {
+            this.template = template;
+            this.size = attributes.size();
+            this.modified = attributes.lastModifiedTime();
+            this.racy = modified.toMillis() + RACY_MILLIS >= loadedAt;
+        }
+
+        /**
+         * Checks whether the file still looks like it did.
+         *
+         * @param attributes the file's current attributes
+         * @return true if the template can be reused
+         */
+        private boolean matches(BasicFileAttributes attributes)
+        {
+            return !racy && size == attributes.size()
+                    && modified.equals(attributes.lastModifiedTime());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package maze;
+
+/**
+ * One move typed by the player, decoded from the first letter of
+ * a word. Decoding looks only at that letter, so no Strings are
+ * made to work out a move.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public enum Move
+{
+    /**
+     * One row up.
+     */
+    UP(-1, 0, "up"),
+
+    /**
+     * One row down.
+     */
+    DOWN(1, 0, "down"),
+
+    /**
+     * One column left.
+     */
+    LEFT(0, -1, "left"),
+
+    /**
+     * One column right.
+     */
+    RIGHT(0, 1, "right"),
+
+    /**
+     * End the game.
+     */
+    QUIT(0, 0, "q"),
+
+    /**
+     * Ask which way to go.
+     */
+    HINT(0, 0, "hint"),
+
+    /**
+     * Anything else.
+     */
+    UNKNOWN(0, 0, "?");
+
+    /**
+     * Sets the lowercase bit of an ASCII letter.
+     */
+    private static final int LOWER_CASE = 0x20;
+    private final int rowStep;
+    private final int colStep;
+    private final String word;
+
+    /**
+     * Makes a move.
+     *
+     * @param rowStep change in row
+     * @param colStep change in col
+     * @param word what a player types for it
+     */
+    Move(int rowStep, int colStep, String word)
+    {
+        this.rowStep = rowStep;
+        this.colStep = colStep;
+        this.word = word;
+    }
+
+    /**
+     * Decodes the first letter of a word, ignoring case.
+     *
+     * @param letter the first letter, as a char or an ASCII byte
+     * @return the move, UNKNOWN if the letter means nothing
+     */
+    public static Move forLetter(int letter)
+    {
+        switch (letter | LOWER_CASE)
+        {
+            case 'u':
+                return UP;
+            case 'd':
+                return DOWN;
+            case 'l':
+                return LEFT;
+            case 'r':
+                return RIGHT;
+            case 'q':
+                return QUIT;
+            case 'h':
+                return HINT;
+            default:
+                return UNKNOWN;
+        }
+    }
+
+    /**
+     * Gets the change in row.
+     *
+     * @return -1, 0 or 1
+     */
+    public int getRowStep()
+    {
+        return rowStep;
+    }
+
+    /**
+     * Gets the change in col.
+     *
+     * @return -1, 0 or 1
+     */
+    public int getColStep()
+    {
+        return colStep;
+    }
+
+    /**
+     * Checks whether this move goes anywhere.
+     *
+     * @return true for UP, DOWN, LEFT and RIGHT
+     */
+    public boolean isStep()
+    {
+        return rowStep != 0 || colStep != 0;
+    }
+
+    /**
+     * Gets what a player types for this move, like "up".
+     *
+     * @return the word
+     */
+    public String getWord()
+    {
+        return word;
+    }
+}
@@ -0,0 +1,220 @@
+package maze;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads moves straight off the bytes of an input stream, a byte
+ * array or the chars of a CharSequence. Every way MazeGame takes
+ * moves goes through here, so they all read the same input the same
+ * way. Words are split on ASCII whitespace, any char up to a space,
+ * but only the first letter is kept, so reading a move allocates
+ * nothing. Bytes are pulled through one buffer made up front.
+ *
+ * <p>A move may carry a repeat count, either at the end of the word
+ * ("d5", "right12") or as the next word on the same line
+ * ("right 12"). Moves without one have a count of 1.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public final class MoveDecoder
+{
+
+    /**
+     * Bytes read from the stream at a time.
+     */
+    private static final int BUFFER_SIZE = 1 << 13;
+
+    /**
+     * Turns a signed byte into 0 to 255.
+     */
+    private static final int BYTE_MASK = 0xFF;
+    private static final int RADIX = 10;
+    private final InputStream in;
+    private final byte[] buffer;
+    private final CharSequence text;
+    private int pos;
+    private int limit;
+    private int count = 1;
+
+    /**
+     * Makes a decoder. The stream is not closed by the decoder.
+     *
+     * @param in where the moves come from
+     */
+    public MoveDecoder(InputStream in)
+    {
+        this.in = in;
+        this.buffer = new byte[BUFFER_SIZE];
+        this.text = null;
+    }
+
+    /**
+     * Makes a decoder over moves already in memory. The array is
+     * read in place, not copied.
+     *
+     * @param moves the moves as ASCII text
+     */
+    public MoveDecoder(byte[] moves)
+    {
+        this.in = null;
+        this.buffer = moves;
+        this.text = null;
+        this.limit = moves.length;
+    }
+
+    /**
+     * Makes a decoder over moves in a CharSequence. The chars are
+     * read in place, not copied.
+     *
+     * @param moves the moves
+     */
+    public MoveDecoder(CharSequence moves)
+    {
+        this.in = null;
+        this.buffer = null;
+        this.text = moves;
+        this.limit = moves.length();
+    }
+
+    /**
+     * Reads the next move and its count. Blocks until a whole word
+     * has arrived, and for a count only while the line goes on.
+     *
+     * @return the move, or null at the end of the stream
+     * @throws IOException if the stream fails
+     */
+    public Move next() throws IOException
+    {
+        int first;
+        do
+        {
+            first = read();
+        }
+        while (first >= 0 && first <= ' ');
+
+        if (first < 0)
+        {
+            count = 1;
+            return null;
+        }
+
+        int value = 0;
+        boolean counted = false;
+        int next = read();
+        while (next > ' ')
+        {
+            if (isDigit(next))
+            {
+                value = append(value, next);
+                counted = true;
+            }
+            else
+            {
+                value = 0;
+                counted = false;
+            }
+            next = read();
+        }
+
+        if (!counted && (next == ' ' || next == '\t'))
+        {
+            int peeked = peek();
+            while (peeked == ' ' || peeked == '\t')
+            {
+                pos++;
+                peeked = peek();
+            }
+            if (isDigit(peeked))
+            {
+                value = 0;
+                while (isDigit(peeked))
+                {
+                    value = append(value, peeked);
+                    pos++;
+                    peeked = peek();
+                }
+                counted = true;
+                while (peek() > ' ')
+                {
+                    pos++;
+                }
+            }
+        }
+
+        count = counted ? value : 1;
+        return Move.forLetter(first);
+    }
+
+    /**
+     * Gets the repeat count of the last move read.
+     *
+     * @return the count, 1 if the move had none
+     */
+    public int count()
+    {
+        return count;
+    }
+
+    /**
+     * Adds a digit to a count, sticking at Integer.MAX_VALUE.
+     *
+     * @param value the count so far
+     * @param digit the next digit character
+     * @return the longer count
+     */
+    private static int append(int value, int digit)
+    {
+        return (int) Math.min(Integer.MAX_VALUE,
+                (long) value * RADIX + digit - '0');
+    }
+
+    /**
+     * ASCII digit check.
+     *
+     * @param c the character
+     * @return true for 0 to 9
+     */
+    private static boolean isDigit(int c)
+    {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Reads one byte or char, refilling the buffer when it runs dry.
+     *
+     * @return the byte or char, or -1 at the end of the input
+     * @throws IOException if the stream fails
+     */
+    private int read() throws IOException
+    {
+        int b = peek();
+        if (b >= 0)
+        {
+            pos++;
+        }
+        return b;
+    }
+
+    /**
+     * Looks at the next byte or char without taking it.
+     *
+     * @return the byte or char, or -1 at the end of the input
+     * @throws IOException if the stream fails
+     */
+    private int peek() throws IOException
+    {
+        if (pos == limit)
+        {
+            int got = in == null ? -1 : in.read(buffer, 0, buffer.length);
+            if (got <= 0)
+            {
+                return -1;
+            }
+            pos = 0;
+            limit = got;
+        }
+        return text == null ? buffer[pos] & BYTE_MASK : text.charAt(pos);
+    }
+}
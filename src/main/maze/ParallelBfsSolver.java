@@ -0,0 +1,299 @@
+package maze;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Breadth first search that spreads each level across a fork/join
+ * pool, for mazes with tens of millions of cells. The frontier of one
+ * level is split into chunks; each chunk claims its new neighbours in
+ * a shared atomic bitset, so every cell is taken by exactly one
+ * thread, and the claimed cells make up the next frontier.
+ *
+ * <p>Paths are shortest paths, the same length as BfsSolver's, but
+ * when there are several the one returned can differ from run to run.
+ * Grids under a million cells or so are not worth the hand-offs and go
+ * to a plain BfsSolver.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public final class ParallelBfsSolver implements MazeSolver
+{
+
+    /**
+     * Grids with fewer cells are solved on the calling thread.
+     */
+    static final int MIN_CELLS = 1 << 20;
+
+    /**
+     * Frontier cells handed to one task.
+     */
+    static final int SPLIT = 1 << 11;
+    private static final int ADDRESS_SHIFT = 6;
+    private final ForkJoinPool pool;
+    private final int minCells;
+    private final int split;
+    private final BfsSolver sequential = new BfsSolver();
+    private AtomicLongArray claimed = new AtomicLongArray(0);
+    private int[] parent = new int[0];
+    private int[] frontier = new int[0];
+    private int[] next = new int[0];
+    private long expanded;
+
+    /**
+     * Makes a solver on the common pool.
+     */
+    public ParallelBfsSolver()
+    {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Makes a solver on a given pool.
+     *
+     * @param pool where the levels run
+     */
+    public ParallelBfsSolver(ForkJoinPool pool)
+    {
+        this(pool, MIN_CELLS, SPLIT);
+    }
+
+    /**
+     * Makes a solver with its thresholds set, for tests.
+     *
+     * @param pool where the levels run
+     * @param minCells grids smaller than this are solved sequentially
+     * @param split frontier cells handed to one task
+     */
+    ParallelBfsSolver(ForkJoinPool pool, int minCells, int split)
+    {
+        this.pool = pool;
+        this.minCells = minCells;
+        this.split = split;
+    }
+
+    @Override
+    public MazePath solve(GridView blocked, int startRow, int startCol,
+            int goalRow, int goalCol)
+    {
+        GridSolver.checkCell(blocked, startRow, startCol);
+        GridSolver.checkCell(blocked, goalRow, goalCol);
+        int height = blocked.getHeight();
+        int width = blocked.getWidth();
+        int cells = Math.multiplyExact(height, width);
+        if (cells < minCells)
+        {
+            MazePath path = sequential.solve(blocked, startRow, startCol,
+                    goalRow, goalCol);
+            expanded = sequential.getExpanded();
+            return path;
+        }
+        prepare(cells);
+
+        int goal = goalRow * width + goalCol;
+        int first = startRow * width + startCol;
+        claim(first);
+        parent[first] = -1;
+        frontier[0] = first;
+        int size = 1;
+        expanded = 0;
+
+        while (size > 0 && !isClaimed(goal))
+        {
+            expanded += size;
+            AtomicInteger tail = new AtomicInteger();
+            Level level = new Level(blocked, size, tail);
+            if (size <= split)
+            {
+                level.compute();
+            }
+            else
+            {
+                pool.invoke(level);
+            }
+            int[] swap = frontier;
+            frontier = next;
+            next = swap;
+            size = tail.get();
+        }
+
+        if (!isClaimed(goal))
+        {
+            return null;
+        }
+        int length = 1;
+        for (int cell = goal; parent[cell] >= 0; cell = parent[cell])
+        {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int cell = goal, i = length - 1; i >= 0; cell = parent[cell])
+        {
+            path[i--] = cell;
+        }
+        return new MazePath(width, path);
+    }
+
+    /**
+     * Gets how many cells the last solve expanded.
+     *
+     * @return cells expanded
+     */
+    public long getExpanded()
+    {
+        return expanded;
+    }
+
+    /**
+     * Readies the scratch arrays, growing them if needed and
+     * clearing the claims.
+     *
+     * @param cells number of cells in the grid
+     */
+    private void prepare(int cells)
+    {
+        int words = (cells + (1 << ADDRESS_SHIFT) - 1) >>> ADDRESS_SHIFT;
+        if (claimed.length() < words)
+        {
+            claimed = new AtomicLongArray(words);
+        }
+        else
+        {
+            for (int i = 0; i < words; i++)
+            {
+                claimed.lazySet(i, 0L);
+            }
+        }
+        if (parent.length < cells)
+        {
+            parent = new int[cells];
+            frontier = new int[cells];
+            next = new int[cells];
+        }
+    }
+
+    /**
+     * Checks whether a cell has been claimed.
+     *
+     * @param cell the cell
+     * @return true if claimed
+     */
+    private boolean isClaimed(int cell)
+    {
+        return (claimed.get(cell >>> ADDRESS_SHIFT) & (1L << cell)) != 0;
+    }
+
+    /**
+     * Claims a cell for the calling thread.
+     *
+     * @param cell the cell
+     * @return true if this call claimed it, false if it was taken
+     */
+    private boolean claim(int cell)
+    {
+        int word = cell >>> ADDRESS_SHIFT;
+        long bit = 1L << cell;
+        long old = claimed.get(word);
+        while ((old & bit) == 0)
+        {
+            if (claimed.compareAndSet(word, old, old | bit))
+            {
+                return true;
+            }
+            old = claimed.get(word);
+        }
+        return false;
+    }
+
+    /**
+     * Expands a run of the frontier into the next one, splitting
+     * until runs are small enough.
+     */
+    private final class Level extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+        private final transient GridView blocked;
+        private final AtomicInteger tail;
+        private final int from;
+        private final int to;
+
+        /**
+         * Makes a task for the whole frontier.
+         *
+         * @param blocked the walls
+         * @param size cells in the frontier
+         * @param tail count of cells put in the next frontier
+         */
+        private Level(GridView blocked, int size, AtomicInteger tail)
+        {
+            this(blocked, 0, size, tail);
+        }
+
+        /**
+         * Makes a task for part of the frontier.
+         *
+         * @param blocked the walls
+         * @param from first frontier index
+         * @param to one past the last frontier index
+         * @param tail count of cells put in the next frontier
+         */
+        private Level(GridView blocked, int from, int to, AtomicInteger tail)
+        {
+            this.blocked = blocked;
+            this.from = from;
+            this.to = to;
+            this.tail = tail;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (to - from > split)
+            {
+                int middle = (from + to) >>> 1;
+                invokeAll(new Level(blocked, from, middle, tail),
+                        new Level(blocked, middle, to, tail));
+                return;
+            }
+
+            int height = blocked.getHeight();
+            int width = blocked.getWidth();
+            int[] found = new int[(to - from) * 4];
+            int count = 0;
+            for (int i = from; i < to; i++)
+            {
+                int cell = frontier[i];
+                int row = cell / width;
+                int col = cell - row * width;
+                if (row > 0 && !blocked.get(row - 1, col)
+                        && claim(cell - width))
+                {
+                    parent[cell - width] = cell;
+                    found[count++] = cell - width;
+                }
+                if (row < height - 1 && !blocked.get(row + 1, col)
+                        && claim(cell + width))
+                {
+                    parent[cell + width] = cell;
+                    found[count++] = cell + width;
+                }
+                if (col > 0 && !blocked.get(row, col - 1)
+                        && claim(cell - 1))
+                {
+                    parent[cell - 1] = cell;
+                    found[count++] = cell - 1;
+                }
+                if (col < width - 1 && !blocked.get(row, col + 1)
+                        && claim(cell + 1))
+                {
+                    parent[cell + 1] = cell;
+                    found[count++] = cell + 1;
+                }
+            }
+            System.arraycopy(found, 0, next, tail.getAndAdd(count), count);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package maze;
+
+/**
+ * How playGame redraws the board between moves.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public enum RenderMode
+{
+    /**
+     * Print the whole board before every move.
+     */
+    FULL,
+
+    /**
+     * Clear the terminal and print the board once, then only send
+     * ANSI cursor moves for the cells that changed.
+     */
+    ANSI_DIFF
+}
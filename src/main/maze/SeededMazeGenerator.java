@@ -0,0 +1,488 @@
+package maze;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Carves perfect mazes of any size from a seed. Rooms sit on the
+ * cells with even row and col and the cells between two rooms are
+ * the walls that can be knocked down, so an odd size leaves a solid
+ * border only on the outside of the rooms. The same size, algorithm
+ * and seed always carve the same maze.
+ *
+ * <p>The maze is carved straight into a BitGrid, the walls MazeGame
+ * plays on, starting from all walls. The algorithms keep their state
+ * in int and byte arrays indexed by room, so nothing is boxed and the
+ * time grows in step with the number of rooms.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public final class SeededMazeGenerator
+{
+
+    /**
+     * Room steps by direction: up, down, left, right.
+     */
+    private static final int UP = 0;
+    private static final int DOWN = 1;
+    private static final int LEFT = 2;
+    private static final int RIGHT = 3;
+    private static final int DIRECTIONS = 4;
+
+    /**
+     * log2 of WINDOW.
+     */
+    private static final int WINDOW_BITS = 6;
+
+    /**
+     * Most rows KRUSKAL puts a wall off by. The walls in play on a
+     * 4096 wide maze, and their slice of the forest, fit in about
+     * 1.5 MB.
+     */
+    private static final int WINDOW = 1 << WINDOW_BITS;
+
+    /**
+     * The even bits of a word, the room cells of a room row.
+     */
+    private static final long ROOM_BITS = 0x5555555555555555L;
+
+    /**
+     * Utility class, no instances.
+     */
+    private SeededMazeGenerator()
+    {
+    }
+
+    /**
+     * Carves a maze and wraps it with S in the top left room and G in
+     * the bottom right room.
+     *
+     * @param height rows, at least 1
+     * @param width cols, at least 1
+     * @param algorithm how to carve
+     * @param random the randomness; it is advanced, not copied
+     * @return the template
+     * @throws IllegalArgumentException if a size is below 1
+     */
+    public static MazeTemplate generate(int height, int width,
+            MazeAlgorithm algorithm, SplittableRandom random)
+    {
+        BitGrid blocked = carve(height, width, algorithm, random);
+        return MazeTemplate.wrap(blocked, new int[] {0, 0},
+                new int[] {(height - 1) & ~1, (width - 1) & ~1});
+    }
+
+    /**
+     * Carves a maze into a fresh grid.
+     *
+     * @param height rows, at least 1
+     * @param width cols, at least 1
+     * @param algorithm how to carve
+     * @param random the randomness; it is advanced, not copied
+     * @return the walls
+     * @throws IllegalArgumentException if a size is below 1
+     */
+    public static BitGrid carve(int height, int width,
+            MazeAlgorithm algorithm, SplittableRandom random)
+    {
+        if (height < 1 || width < 1)
+        {
+            throw new IllegalArgumentException(
+                    "Maze must be at least 1 x 1, got " + height + " x "
+                    + width);
+        }
+        BitGrid blocked = new BitGrid(height, width);
+        fillWalls(blocked);
+        Rooms rooms = new Rooms(blocked);
+        switch (algorithm)
+        {
+            case BACKTRACKER:
+                backtrack(rooms, random);
+                break;
+            case KRUSKAL:
+                kruskal(rooms, random);
+                break;
+            case WILSON:
+                wilson(rooms, random);
+                break;
+            default:
+                throw new IllegalArgumentException(
+                        "Unknown algorithm " + algorithm);
+        }
+        return blocked;
+    }
+
+    /**
+     * Sets every cell of a grid, a word at a time, keeping the bits
+     * past the width of each row zero.
+     *
+     * @param blocked the grid
+     */
+    private static void fillWalls(BitGrid blocked)
+    {
+        long[] words = blocked.words();
+        int stride = blocked.stride();
+        int tail = blocked.getWidth() & (BitGrid.WORD_BITS - 1);
+        long last = tail == 0 ? -1L : (1L << tail) - 1;
+        for (int row = 0; row < blocked.getHeight(); row++)
+        {
+            int end = (row + 1) * stride;
+            for (int i = row * stride; i < end; i++)
+            {
+                words[i] = -1L;
+            }
+            words[end - 1] = last;
+        }
+    }
+
+    /**
+     * Iterative depth first walk with an explicit stack. A room is
+     * unvisited while its cell is still a wall.
+     *
+     * @param rooms the rooms
+     * @param random the randomness
+     */
+    private static void backtrack(Rooms rooms, SplittableRandom random)
+    {
+        int[] stack = new int[rooms.count];
+        int[] choices = new int[DIRECTIONS];
+        int depth = 0;
+        rooms.open(0);
+        stack[depth++] = 0;
+        while (depth > 0)
+        {
+            int room = stack[depth - 1];
+            int options = 0;
+            for (int dir = 0; dir < DIRECTIONS; dir++)
+            {
+                int next = rooms.neighbour(room, dir);
+                if (next >= 0 && rooms.isClosed(next))
+                {
+                    choices[options++] = dir;
+                }
+            }
+            if (options == 0)
+            {
+                depth--;
+                continue;
+            }
+            int dir = choices[random.nextInt(options)];
+            int next = rooms.neighbour(room, dir);
+            rooms.join(room, dir);
+            rooms.open(next);
+            stack[depth++] = next;
+        }
+    }
+
+    /**
+     * Knocks down walls in random order unless their rooms are already
+     * joined, tracked with union find by size. A full shuffle of every
+     * wall sends each find to a random spot in memory, so instead each
+     * wall is put off by a random number of rows, below WINDOW, and
+     * the walls due at each row are shuffled and worked together. That
+     * is Kruskal's algorithm on a weight of row plus WINDOW times a
+     * uniform random number: nearby walls still come in random order,
+     * while the walls in play, and their slice of the forest, span only
+     * WINDOW rows and stay in cache. Every row is treated the same, so
+     * there are no seams.
+     *
+     * <p>A wall is stored as its room's number, doubled, plus 1 for
+     * the wall below the room and 0 for the wall to its right. The
+     * walls due at a row wait in a ring of WINDOW buckets.
+     *
+     * @param rooms the rooms
+     * @param random the randomness
+     */
+    private static void kruskal(Rooms rooms, SplittableRandom random)
+    {
+        int cols = rooms.cols;
+        int line = rooms.line;
+        int[][] due = new int[WINDOW][2 * cols];
+        int[] dueCount = new int[WINDOW];
+        int[] parent = new int[rooms.span];
+        Arrays.fill(parent, -1);
+        rooms.openAll();
+        long bits = 0;
+        int left = 0;
+        for (int row = 0; row < rooms.rows + WINDOW - 1; row++)
+        {
+            if (row < rooms.rows)
+            {
+                int first = row * line;
+                for (int wall = first << 1; wall < (first + cols) << 1;
+                        wall++)
+                {
+                    boolean edge = (wall & 1) == 0
+                            ? (wall >> 1) == first + cols - 1
+                            : row == rooms.rows - 1;
+                    if (edge)
+                    {
+                        continue;
+                    }
+                    if (left == 0)
+                    {
+                        bits = random.nextLong();
+                        left = Long.SIZE / WINDOW_BITS;
+                    }
+                    int bucket = (row + (int) (bits & (WINDOW - 1)))
+                            & (WINDOW - 1);
+                    bits >>>= WINDOW_BITS;
+                    left--;
+                    if (dueCount[bucket] == due[bucket].length)
+                    {
+                        due[bucket] = Arrays.copyOf(due[bucket],
+                                2 * due[bucket].length);
+                    }
+                    due[bucket][dueCount[bucket]++] = wall;
+                }
+            }
+            int bucket = row & (WINDOW - 1);
+            int[] walls = due[bucket];
+            int count = dueCount[bucket];
+            dueCount[bucket] = 0;
+            for (int i = count - 1; i > 0; i--)
+            {
+                int j = random.nextInt(i + 1);
+                int swap = walls[i];
+                walls[i] = walls[j];
+                walls[j] = swap;
+            }
+            for (int i = 0; i < count; i++)
+            {
+                int down = walls[i] & 1;
+                int room = walls[i] >>> 1;
+                int a = find(parent, room);
+                int b = find(parent, room + 1 + (-down & (line - 1)));
+                if (a != b)
+                {
+                    if (parent[a] < parent[b])
+                    {
+                        parent[a] += parent[b];
+                        parent[b] = a;
+                    }
+                    else
+                    {
+                        parent[b] += parent[a];
+                        parent[a] = b;
+                    }
+                    rooms.clear(2 * (room >>> rooms.shift) + down,
+                            2 * (room & (line - 1)) + 1 - down);
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the root of a set, halving the path on the way.
+     * Roots hold minus the size of their set.
+     *
+     * @param parent the forest
+     * @param room a room
+     * @return its root
+     */
+    private static int find(int[] parent, int room)
+    {
+        while (parent[room] >= 0)
+        {
+            int up = parent[room];
+            if (parent[up] >= 0)
+            {
+                parent[room] = parent[up];
+            }
+            room = up;
+        }
+        return room;
+    }
+
+    /**
+     * Grows the maze from one random room with loop erased random
+     * walks. Each walk only remembers the way it last left each room,
+     * so retracing from its start follows the loop erased path. A
+     * step takes two bits of a random long, so one draw covers
+     * thirty two steps.
+     *
+     * @param rooms the rooms
+     * @param random the randomness
+     */
+    private static void wilson(Rooms rooms, SplittableRandom random)
+    {
+        byte[] exit = new byte[rooms.span];
+        rooms.open(random.nextInt(rooms.rows) * rooms.line
+                + random.nextInt(rooms.cols));
+        long bits = 0;
+        int left = 0;
+        for (int row = 0; row < rooms.rows; row++)
+        {
+            for (int first = row * rooms.line;
+                    first < row * rooms.line + rooms.cols; first++)
+            {
+                int room = first;
+                while (rooms.isClosed(room))
+                {
+                    if (left == 0)
+                    {
+                        bits = random.nextLong();
+                        left = Long.SIZE / 2;
+                    }
+                    int dir = (int) bits & (DIRECTIONS - 1);
+                    bits >>>= 2;
+                    left--;
+                    int next = rooms.neighbour(room, dir);
+                    if (next >= 0)
+                    {
+                        exit[room] = (byte) dir;
+                        room = next;
+                    }
+                }
+                for (room = first; rooms.isClosed(room);
+                        room = rooms.neighbour(room, exit[room]))
+                {
+                    rooms.open(room);
+                    rooms.join(room, exit[room]);
+                }
+            }
+        }
+    }
+
+    /**
+     * The rooms of a grid and the cells that open and join them.
+     * A room is numbered row * line + col, where line is cols rounded
+     * up to a power of two, and at least 4, so the row and col come
+     * back with a shift and a mask rather than a divide. Numbers with
+     * a col past the last are skipped. Cells are read and written
+     * straight in the grid's words; every cell touched is a room or
+     * the wall between two rooms, so it is always on the grid.
+     */
+    private static final class Rooms
+    {
+        private final BitGrid blocked;
+        private final long[] words;
+        private final int stride;
+        private final int rows;
+        private final int cols;
+        private final int shift;
+        private final int line;
+        private final int count;
+        private final int span;
+        private final int[] step;
+
+        /**
+         * Makes the rooms of a grid.
+         *
+         * @param blocked the grid, all walls
+         */
+        private Rooms(BitGrid blocked)
+        {
+            this.blocked = blocked;
+            this.words = blocked.words();
+            this.stride = blocked.stride();
+            this.rows = (blocked.getHeight() + 1) / 2;
+            this.cols = (blocked.getWidth() + 1) / 2;
+            this.shift = Math.max(2, Integer.SIZE
+                    - Integer.numberOfLeadingZeros(cols - 1));
+            this.line = 1 << shift;
+            this.count = Math.multiplyExact(rows, cols);
+            this.span = Math.multiplyExact(rows, line);
+            this.step = new int[DIRECTIONS];
+            step[UP] = -line;
+            step[DOWN] = line;
+            step[LEFT] = -1;
+            step[RIGHT] = 1;
+        }
+
+        /**
+         * Gets the next room over. A step left off col 0 or right off
+         * the last col wraps to a col at least three away, since line
+         * is at least 4, and a step off the top or bottom lands on a
+         * row out of range, so one check covers every edge. Nothing
+         * here branches on dir, which is random.
+         *
+         * @param room the room
+         * @param dir UP, DOWN, LEFT or RIGHT
+         * @return the room, -1 past the edge
+         */
+        private int neighbour(int room, int dir)
+        {
+            int next = room + step[dir];
+            int col = next & (line - 1);
+            return (next >>> shift) < rows && col < cols
+                    && Math.abs(col - (room & (line - 1))) <= 1 ? next : -1;
+        }
+
+        /**
+         * Checks whether a room is still walled up.
+         *
+         * @param room the room
+         * @return true if not yet carved
+         */
+        private boolean isClosed(int room)
+        {
+            int col = 2 * (room & (line - 1));
+            return (words[2 * (room >>> shift) * stride
+                    + (col >>> BitGrid.ADDRESS_SHIFT)] & (1L << col)) != 0;
+        }
+
+        /**
+         * Carves out a room.
+         *
+         * @param room the room
+         */
+        private void open(int room)
+        {
+            clear(2 * (room >>> shift), 2 * (room & (line - 1)));
+        }
+
+        /**
+         * Carves out every room, a word at a time.
+         */
+        private void openAll()
+        {
+            for (int row = 0; row < blocked.getHeight(); row += 2)
+            {
+                for (int i = row * stride; i < (row + 1) * stride; i++)
+                {
+                    words[i] &= ~ROOM_BITS;
+                }
+            }
+        }
+
+        /**
+         * Knocks down the wall between a room and the next one over.
+         *
+         * @param room the room
+         * @param dir the side to open
+         */
+        private void join(int room, int dir)
+        {
+            int row = 2 * (room >>> shift);
+            int col = 2 * (room & (line - 1));
+            switch (dir)
+            {
+                case UP:
+                    clear(row - 1, col);
+                    break;
+                case DOWN:
+                    clear(row + 1, col);
+                    break;
+                case LEFT:
+                    clear(row, col - 1);
+                    break;
+                default:
+                    clear(row, col + 1);
+            }
+        }
+
+        /**
+         * Clears one cell in place.
+         *
+         * @param row the row
+         * @param col the col
+         */
+        private void clear(int row, int col)
+        {
+            words[row * stride + (col >>> BitGrid.ADDRESS_SHIFT)] &=
+                    ~(1L << col);
+        }
+    }
+}
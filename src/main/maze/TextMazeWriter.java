@@ -0,0 +1,167 @@
+package maze;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes mazes in the text format MazeParser reads:
+ * one row per line, each cell a 0, 1, S or G followed by a space.
+ * Rows are built straight into a byte buffer that goes out
+ * to the channel whenever it fills.
+ *
+ * <p>A "# rows cols" header can go first, as EllerMazeWriter writes.
+ * MazeParser needs it to read text mazes too big for one buffer.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public final class TextMazeWriter
+{
+    private static final int COL = 1;
+    private static final int ROW = 0;
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    /**
+     * Utility class, no instances.
+     */
+    private TextMazeWriter()
+    {
+    }
+
+    /**
+     * Writes a text maze file, replacing what is there.
+     *
+     * @param mazeFile where to write
+     * @param blocked the walls
+     * @param start the [row, col] of S
+     * @param goal the [row, col] of G
+     * @throws IOException if the file can not be written
+     */
+    public static void write(String mazeFile, GridView blocked,
+            int[] start, int[] goal) throws IOException
+    {
+        write(mazeFile, blocked, start, goal, false);
+    }
+
+    /**
+     * Writes a text maze file, replacing what is there.
+     *
+     * @param mazeFile where to write
+     * @param blocked the walls
+     * @param start the [row, col] of S
+     * @param goal the [row, col] of G
+     * @param header true to start with a "# rows cols" line
+     * @throws IOException if the file can not be written
+     */
+    public static void write(String mazeFile, GridView blocked,
+            int[] start, int[] goal, boolean header) throws IOException
+    {
+        try (FileChannel out = FileChannel.open(Path.of(mazeFile),
+                StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            write(out, blocked, start, goal, header);
+        }
+    }
+
+    /**
+     * Writes a text maze to a channel.
+     *
+     * @param out where to write
+     * @param blocked the walls
+     * @param start the [row, col] of S
+     * @param goal the [row, col] of G
+     * @throws IOException if the channel fails
+     */
+    public static void write(WritableByteChannel out, GridView blocked,
+            int[] start, int[] goal) throws IOException
+    {
+        write(out, blocked, start, goal, false);
+    }
+
+    /**
+     * Writes a text maze to a channel.
+     *
+     * @param out where to write
+     * @param blocked the walls
+     * @param start the [row, col] of S
+     * @param goal the [row, col] of G
+     * @param header true to start with a "# rows cols" line
+     * @throws IOException if the channel fails
+     */
+    public static void write(WritableByteChannel out, GridView blocked,
+            int[] start, int[] goal, boolean header) throws IOException
+    {
+        int width = blocked.getWidth();
+        ByteBuffer buffer = ByteBuffer.allocate(
+                Math.max(BUFFER_BYTES, 2 * width + 1));
+        if (header)
+        {
+            buffer.put(("# " + blocked.getHeight() + " " + width + "\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+        }
+
+        for (int row = 0; row < blocked.getHeight(); row++)
+        {
+            if (buffer.remaining() < 2 * width + 1)
+            {
+                BinaryMazeFormat.drain(out, buffer);
+            }
+            for (int col = 0; col < width; col++)
+            {
+                buffer.put(cell(blocked, start, goal, row, col));
+                buffer.put((byte) ' ');
+            }
+            buffer.put((byte) '\n');
+        }
+        BinaryMazeFormat.drain(out, buffer);
+    }
+
+    /**
+     * Gets the bytes a maze takes as text, not counting a header.
+     *
+     * @param height rows
+     * @param width cols
+     * @return the text size
+     */
+    static long textBytes(int height, int width)
+    {
+        return height * (2L * width + 1);
+    }
+
+    /**
+     * Picks the token for one cell.
+     *
+     * @param blocked the walls
+     * @param start the [row, col] of S
+     * @param goal the [row, col] of G
+     * @param row the row
+     * @param col the col
+     * @return the token byte
+     */
+    static byte cell(GridView blocked, int[] start, int[] goal,
+            int row, int col)
+    {
+        if (start[ROW] == row && start[COL] == col)
+        {
+            return 'S';
+        }
+        else if (goal[ROW] == row && goal[COL] == col)
+        {
+            return 'G';
+        }
+        else if (blocked.get(row, col))
+        {
+            return '1';
+        }
+        else
+        {
+            return '0';
+        }
+    }
+}
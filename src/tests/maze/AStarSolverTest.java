@@ -0,0 +1,103 @@
+package maze;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+/**
+ * Tests AStarSolver and IndexedMinHeap.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public class AStarSolverTest
+{
+    /**
+     * Number of random grids to compare against BFS.
+     */
+    private static final int TRIALS = 200;
+
+    /**
+     * A* paths are as short as BFS paths and walk only open cells,
+     * on random grids with a quarter of the cells walled.
+     */
+    @Test
+    public void testMatchesBfs()
+    {
+        SplittableRandom random = new SplittableRandom(14);
+        AStarSolver astar = new AStarSolver();
+        BfsSolver bfs = new BfsSolver();
+        for (int i = 0; i < TRIALS; i++)
+        {
+            BitGrid blocked = MazeTestUtils.randomGrid(random,
+                1 + random.nextInt(40), 1 + random.nextInt(40), 0.25);
+            int[] ends = MazeTestUtils.openEnds(random, blocked);
+            MazePath expected = bfs.solve(blocked, ends[0], ends[1],
+                ends[2], ends[3]);
+            MazePath path = astar.solve(blocked, ends[0], ends[1],
+                ends[2], ends[3]);
+            if (expected == null)
+            {
+                assertNull(path);
+                continue;
+            }
+            assertEquals(expected.length(), path.length());
+            MazeTestUtils.assertPath(blocked, path, ends);
+        }
+    }
+
+    /**
+     * On an open grid A* goes straight for the goal.
+     */
+    @Test
+    public void testOpenGridExpandsLittle()
+    {
+        int size = 500;
+        BitGrid blocked = new BitGrid(size, size);
+        AStarSolver astar = new AStarSolver();
+        MazePath path = astar.solve(blocked, 0, 0, size - 1, size - 1);
+        assertEquals(2 * (size - 1), path.length());
+        assertEquals(path.length() + 1, astar.getExpanded());
+
+        BfsSolver bfs = new BfsSolver();
+        bfs.solve(blocked, 0, 0, size - 1, size - 1);
+        assertTrue(bfs.getExpanded() > 100 * astar.getExpanded());
+    }
+
+    /**
+     * The heap hands back ids in key order, lowered keys included.
+     */
+    @Test
+    public void testHeap()
+    {
+        SplittableRandom random = new SplittableRandom(7);
+        int count = 1000;
+        long[] keys = new long[count];
+        IndexedMinHeap heap = new IndexedMinHeap();
+        heap.reset(count);
+        for (int id = 0; id < count; id++)
+        {
+            keys[id] = random.nextLong(1_000_000);
+            heap.push(id, keys[id]);
+        }
+        for (int id = 0; id < count; id += 3)
+        {
+            keys[id] -= random.nextLong(1_000_000);
+            heap.decreaseKey(id, keys[id]);
+        }
+        long[] sorted = keys.clone();
+        Arrays.sort(sorted);
+        for (int i = 0; i < count; i++)
+        {
+            int id = heap.pop();
+            assertEquals(sorted[i], keys[id]);
+            assertTrue(!heap.contains(id));
+        }
+        assertTrue(heap.isEmpty());
+    }
+}
@@ -0,0 +1,139 @@
+package maze;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.FileNotFoundException;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+/**
+ * Tests BfsSolver and MazePath.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public class BfsSolverTest
+{
+    /**
+     * Number of random mazes to solve.
+     */
+    private static final int TRIALS = 20;
+
+    /**
+     * Solves a small maze with a known answer.
+     */
+    @Test
+    public void testSmallMaze()
+    {
+        GridView blocked = MazeTestUtils.smallMaze().getBlockedView();
+        MazePath path = new BfsSolver().solve(blocked, 0, 0, 2, 3);
+        assertEquals(5, path.length());
+        assertArrayEquals(new String[] {"right", "right", "down", "down",
+            "right"}, path.toMoves());
+        assertEquals("right\nright\ndown\ndown\nright\n", path.toInput());
+        assertEquals(0, path.getRow(0));
+        assertEquals(3, path.getCol(path.length()));
+    }
+
+    /**
+     * Walled off goals give null, and start on the goal is length 0.
+     */
+    @Test
+    public void testEdgeCases()
+    {
+        BitGrid blocked = MazeTestUtils.grid("010", "010", "010");
+        BfsSolver solver = new BfsSolver();
+        assertNull(solver.solve(blocked, 0, 0, 2, 2));
+        assertEquals(0, solver.solve(blocked, 1, 0, 1, 0).length());
+        assertEquals(2, solver.solve(blocked, 0, 0, 2, 0).length());
+    }
+
+    /**
+     * In a one column maze every step is vertical, though it is
+     * also one cell over in the numbering. Each solver's path must
+     * read as downs and win the game.
+     */
+    @Test
+    public void testOneColumn()
+    {
+        BitGrid blocked = MazeTestUtils.grid("0", "0", "0");
+        MazeGame game = new MazeGame(MazeTemplate.of(blocked,
+            new int[] {0, 0}, new int[] {2, 0}));
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try
+        {
+            MazePath[] paths = {
+                new BfsSolver().solve(blocked, 0, 0, 2, 0),
+                new AStarSolver().solve(blocked, 0, 0, 2, 0),
+                new JpsSolver().solve(blocked, 0, 0, 2, 0),
+                new ParallelBfsSolver(pool, 0, 1).solve(blocked, 0, 0, 2, 0),
+                CorridorGraph.build(game).solve(),
+                new HierarchicalPlanner(blocked, 2).path(0, 0, 2, 0),
+            };
+            for (MazePath path : paths)
+            {
+                assertArrayEquals(new String[] {"down", "down"},
+                    path.toMoves());
+                MazeGame play = new MazeGame(game.getTemplate());
+                play.setOutput(MazeOutput.NONE);
+                assertEquals(GameOutcome.WON, play.playMoves(path.toInput()));
+            }
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * The solution to random lab mazes wins the game and is no
+     * longer than the generator's own, with one solver reused.
+     */
+    @Test
+    public void testRandomMazes()
+    {
+        MazeGenerator mg = new MazeGenerator();
+        mg.setup(MazeTestUtils.RANDOM_MAZE_FILE);
+        BfsSolver solver = new BfsSolver();
+        for (int i = 0; i < TRIALS; i++)
+        {
+            MazeGame game = MazeTestUtils.genRandomGame(mg);
+            MazePath path = solver.solve(game);
+            int generated = mg.getWinningInput().split("\n").length;
+            assertTrue("BFS path longer than the generator's",
+                path.length() <= generated);
+            game.setOutput(MazeOutput.NONE);
+            assertEquals(GameOutcome.WON, game.playMoves(path.toInput()));
+        }
+    }
+
+    /**
+     * Solves the hard maze from the player's spot.
+     *
+     * @throws FileNotFoundException if the data is missing
+     */
+    @Test
+    public void testHardMaze() throws FileNotFoundException
+    {
+        MazeGame game = new MazeGame("src/data/hard.txt");
+        game.setOutput(MazeOutput.NONE);
+        MazePath path = new BfsSolver().solve(game);
+        assertEquals(GameOutcome.WON, game.playMoves(path.toInput()));
+    }
+
+    /**
+     * An open grid is crossed in exactly its Manhattan distance.
+     */
+    @Test
+    public void testOpenGrid()
+    {
+        int size = 1000;
+        MazePath path = new BfsSolver().solve(new BitGrid(size, size),
+            0, 0, size - 1, size - 1);
+        assertEquals(2 * (size - 1), path.length());
+    }
+}
@@ -0,0 +1,227 @@
+package maze;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the binary maze format and the converter.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public class BinaryMazeFormatTest
+{
+    /**
+     * Scratch binary file.
+     */
+    private File binaryFile;
+
+    /**
+     * Scratch text file.
+     */
+    private File textFile;
+
+    /**
+     * Makes the scratch files.
+     *
+     * @throws IOException if the temp files cannot be made
+     */
+    @Before
+    public void beforeEach() throws IOException
+    {
+        binaryFile = File.createTempFile("maze", ".bin");
+        textFile = File.createTempFile("maze", ".txt");
+    }
+
+    /**
+     * Removes the scratch files.
+     */
+    @After
+    public void afterEach()
+    {
+        binaryFile.delete();
+        textFile.delete();
+    }
+
+    /**
+     * Writing then reading should give back the same maze.
+     *
+     * @throws IOException if the scratch file fails
+     */
+    @Test
+    public void testRoundTrip() throws IOException
+    {
+        BitGrid blocked = new BitGrid(300, 517);
+        for (int i = 0; i < 20000; i++)
+        {
+            blocked.set((int) (Math.random() * 300), (int) (Math.random() * 517));
+        }
+        int[] start = {3, 500};
+        int[] goal = {299, 0};
+        BinaryMazeFormat.write(binaryFile.getPath(), blocked, start, goal);
+
+        int[] readStart = new int[2];
+        int[] readGoal = new int[2];
+        BitGrid read = BinaryMazeFormat.read(binaryFile.getPath(),
+            readStart, readGoal);
+        assertEquals("walls changed in the round trip", blocked, read);
+        assertArrayEquals("start changed in the round trip", start, readStart);
+        assertArrayEquals("goal changed in the round trip", goal, readGoal);
+        assertEquals("unexpected file size",
+            BinaryMazeFormat.HEADER_BYTES + 300 * 9 * Long.BYTES,
+            binaryFile.length());
+    }
+
+    /**
+     * Converting to binary and back should give the same text bytes.
+     *
+     * @throws IOException if the scratch files fail
+     */
+    @Test
+    public void testConvertBothWays() throws IOException
+    {
+        String hard = "src/data/hard.txt";
+        MazeConverter.toBinary(hard, binaryFile.getPath());
+        assertTrue("converted file should be binary",
+            MazeConverter.isBinary(binaryFile.getPath()));
+        assertFalse("text file should not be binary",
+            MazeConverter.isBinary(hard));
+        assertTrue("binary file should be smaller than the text",
+            binaryFile.length() * 8 < new File(hard).length());
+
+        MazeConverter.toText(binaryFile.getPath(), textFile.getPath());
+        assertArrayEquals("text changed after converting both ways",
+            Files.readAllBytes(new File(hard).toPath()),
+            Files.readAllBytes(textFile.toPath()));
+    }
+
+    /**
+     * Text bigger than a parser window gets a header, and reads back
+     * a window at a time to the same maze.
+     *
+     * @throws IOException if a scratch file fails
+     */
+    @Test
+    public void testConvertWithHeader() throws IOException
+    {
+        String hard = "src/data/hard.txt";
+        int[] start = new int[2];
+        int[] goal = new int[2];
+        BitGrid expected = MazeParser.parse(hard, start, goal);
+        MazeConverter.toBinary(hard, binaryFile.getPath());
+        int window = 1000;
+        MazeConverter.toText(binaryFile.getPath(), textFile.getPath(),
+            window);
+        String text = Files.readString(textFile.toPath());
+        assertTrue(text.startsWith("# " + expected.getHeight() + " "
+            + expected.getWidth() + "\n"));
+
+        int[] textStart = new int[2];
+        int[] textGoal = new int[2];
+        assertEquals(expected, MazeParser.parse(textFile.toPath(),
+            textStart, textGoal, 0, window));
+        assertArrayEquals(start, textStart);
+        assertArrayEquals(goal, textGoal);
+    }
+
+    /**
+     * MazeGame should load binary mazes just like text ones.
+     *
+     * @throws IOException if the scratch file fails
+     */
+    @Test
+    public void testGameLoadsBinary() throws IOException
+    {
+        String easy = "src/data/easy.txt";
+        MazeConverter.toBinary(easy, binaryFile.getPath());
+        MazeGame text = new MazeGame(easy);
+        MazeGame binary = new MazeGame(binaryFile.getPath());
+        MazeTestUtils.validateArrays(text.getBlocked(), binary.getBlocked(),
+            "After loading a binary maze", "blocked");
+        MazeTestUtils.validateSpot(text.getGoalRow(), text.getGoalCol(),
+            binary.getGoalRow(), binary.getGoalCol(),
+            "After loading a binary maze", "goal");
+        MazeTestUtils.validateSpot(text.getStartRow(), text.getStartCol(),
+            binary.getPlayerRow(), binary.getPlayerCol(),
+            "After loading a binary maze", "player");
+    }
+
+    /**
+     * Bad headers fail cleanly before anything big is allocated:
+     * a huge size with no walls behind it, sizes below 1, a start
+     * or goal off the board.
+     */
+    @Test
+    public void testBadHeaders()
+    {
+        int[][] headers = {
+            {Integer.MAX_VALUE, Integer.MAX_VALUE, 0, 0, 0, 0},
+            {Integer.MAX_VALUE, 1, 0, 0, 0, 0},
+            {0, 5, 0, 0, 0, 0},
+            {-3, 5, 0, 0, 0, 0},
+            {2, 2, 2, 0, 0, 0},
+            {2, 2, 0, 0, 0, -1},
+        };
+        for (int[] header : headers)
+        {
+            ByteBuffer bytes = header(header, 2);
+            try
+            {
+                BinaryMazeFormat.read(bytes, new int[2], new int[2]);
+                fail("header " + Arrays.toString(header)
+                    + " should be refused");
+            }
+            catch (IllegalArgumentException expected)
+            {
+                assertTrue(expected.getMessage().startsWith("Binary maze"));
+            }
+        }
+    }
+
+    /**
+     * Bits set past the width are refused, since the word level
+     * scans count on the padding being zero.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testPaddingBits()
+    {
+        ByteBuffer bytes = header(new int[] {2, 3, 0, 0, 1, 2}, 2);
+        bytes.putLong(BinaryMazeFormat.HEADER_BYTES + Long.BYTES, 1L << 3);
+        BinaryMazeFormat.read(bytes, new int[2], new int[2]);
+    }
+
+    /**
+     * Makes a binary maze with a given header and all open walls.
+     *
+     * @param header height, width, start row, start col, goal row,
+     *     goal col
+     * @param words wall words after the header
+     * @return the maze bytes
+     */
+    private static ByteBuffer header(int[] header, int words)
+    {
+        ByteBuffer bytes = ByteBuffer.allocate(BinaryMazeFormat.HEADER_BYTES
+            + words * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.putInt(BinaryMazeFormat.MAGIC).putInt(BinaryMazeFormat.VERSION);
+        for (int value : header)
+        {
+            bytes.putInt(value);
+        }
+        bytes.clear();
+        return bytes;
+    }
+}
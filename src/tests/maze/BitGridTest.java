@@ -0,0 +1,143 @@
+package maze;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+/**
+ * Tests the packed boolean grid.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public class BitGridTest
+{
+    /**
+     * Cells on both sides of a word boundary should be independent.
+     */
+    @Test
+    public void testSetAndClearAcrossWords()
+    {
+        BitGrid grid = new BitGrid(3, 130);
+        grid.set(1, 63);
+        grid.set(1, 64);
+        grid.set(2, 129);
+        assertTrue("row 1, col 63 should be set", grid.get(1, 63));
+        assertTrue("row 1, col 64 should be set", grid.get(1, 64));
+        assertFalse("row 0, col 63 should not be set", grid.get(0, 63));
+        assertFalse("row 2, col 1 should not be set", grid.get(2, 1));
+        grid.clear(1, 63);
+        assertFalse("row 1, col 63 should be cleared", grid.get(1, 63));
+        assertTrue("row 1, col 64 should still be set", grid.get(1, 64));
+        assertEquals("wrong cardinality", 2, grid.cardinality());
+    }
+
+    /**
+     * Packing and unpacking should give back the same cells.
+     */
+    @Test
+    public void testRoundTrip()
+    {
+        boolean[][] board = MazeTestUtils.getRandomBoard();
+        BitGrid grid = BitGrid.fromArray(board);
+        assertEquals("wrong height", board.length, grid.getHeight());
+        assertEquals("wrong width", board[0].length, grid.getWidth());
+        MazeTestUtils.validateArrays(board, grid.toArray(),
+            "After packing a random board", "grid");
+    }
+
+    /**
+     * Copies should not share storage.
+     */
+    @Test
+    public void testCopy()
+    {
+        BitGrid grid = BitGrid.fromArray(MazeTestUtils.getRandomBoard());
+        BitGrid copy = new BitGrid(grid);
+        assertEquals("copy should equal the original", grid, copy);
+        assertNotSame("copy should be a new grid", grid, copy);
+        copy.set(0, 0, !copy.get(0, 0));
+        assertFalse("changing the copy changed the original",
+            grid.get(0, 0) == copy.get(0, 0));
+    }
+
+    /**
+     * A row should use whole words, so the memory is about a bit a cell.
+     */
+    @Test
+    public void testPackedSize()
+    {
+        BitGrid grid = new BitGrid(5000, 5000);
+        assertEquals("wrong words per row", 79, grid.stride());
+        assertEquals("wrong word count", 5000 * 79, grid.words().length);
+    }
+
+    /**
+     * Jagged arrays are refused rather than packed partly.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testJaggedArray()
+    {
+        BitGrid.fromArray(new boolean[][] {new boolean[3], new boolean[2]});
+    }
+
+    /**
+     * Arrays of the wrong size are refused, so nothing lands in the
+     * padding past the width.
+     */
+    @Test
+    public void testSizedArray()
+    {
+        assertEquals(new BitGrid(2, 3),
+            BitGrid.fromArray(new boolean[2][3], 2, 3));
+        int[][] sizes = {{3, 3}, {2, 4}, {2, 2}};
+        for (int[] size : sizes)
+        {
+            try
+            {
+                BitGrid.fromArray(new boolean[size[0]][size[1]], 2, 3);
+                fail(size[0] + "x" + size[1] + " should not fit 2x3");
+            }
+            catch (IllegalArgumentException expected)
+            {
+                assertTrue(expected.getMessage().startsWith("Expected"));
+            }
+        }
+    }
+
+    /**
+     * Cells off the grid are refused, even a col that would still
+     * fall inside the row's last word.
+     */
+    @Test
+    public void testOutOfBounds()
+    {
+        BitGrid grid = new BitGrid(2, 3);
+        int[][] cells = {{0, 3}, {0, 63}, {0, 64}, {2, 0}, {-1, 0}, {0, -1}};
+        for (int[] cell : cells)
+        {
+            try
+            {
+                grid.set(cell[0], cell[1]);
+                fail(cell[0] + "," + cell[1] + " is off a 2x3 grid");
+            }
+            catch (IndexOutOfBoundsException expected)
+            {
+                assertEquals(0, grid.cardinality());
+            }
+            try
+            {
+                grid.get(cell[0], cell[1]);
+                fail(cell[0] + "," + cell[1] + " is off a 2x3 grid");
+            }
+            catch (IndexOutOfBoundsException expected)
+            {
+                assertFalse(grid.get(0, 0));
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package maze;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.FileNotFoundException;
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+/**
+ * Tests CorridorGraph.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public class CorridorGraphTest
+{
+    /**
+     * Number of random grids to compare against BFS.
+     */
+    private static final int TRIALS = 500;
+
+    /**
+     * Graph paths are as short as BFS paths and expand to real
+     * grid paths.
+     */
+    @Test
+    public void testMatchesBfs()
+    {
+        SplittableRandom random = new SplittableRandom(17);
+        BfsSolver bfs = new BfsSolver();
+        for (int i = 0; i < TRIALS; i++)
+        {
+            BitGrid blocked = MazeTestUtils.randomGrid(random,
+                1 + random.nextInt(25), 1 + random.nextInt(25),
+                random.nextDouble() * 0.6);
+            int[] ends = MazeTestUtils.openEnds(random, blocked);
+            MazePath expected = bfs.solve(blocked, ends[0], ends[1],
+                ends[2], ends[3]);
+            MazePath path = CorridorGraph.build(blocked, ends[0], ends[1],
+                ends[2], ends[3]).solve();
+            if (expected == null)
+            {
+                assertNull(path);
+                continue;
+            }
+            assertEquals("trial " + i, expected.length(), path.length());
+            MazeTestUtils.assertPath(blocked, path, ends);
+        }
+    }
+
+    /**
+     * Every corridor is an edge both ways, with the same length.
+     */
+    @Test
+    public void testEdgesPair()
+    {
+        BitGrid blocked = SeededMazeGenerator.carve(101, 101,
+            MazeAlgorithm.BACKTRACKER, new SplittableRandom(5));
+        CorridorGraph graph = CorridorGraph.build(blocked, 0, 0, 100, 100);
+        int total = 0;
+        for (int node = 0; node < graph.getNodeCount(); node++)
+        {
+            for (int edge = graph.edgeBegin(node); edge < graph.edgeEnd(node);
+                edge++)
+            {
+                assertEquals(node, graph.getEdgeSource(edge));
+                int target = graph.getEdgeTarget(edge);
+                boolean back = false;
+                for (int other = graph.edgeBegin(target);
+                    other < graph.edgeEnd(target); other++)
+                {
+                    back |= graph.getEdgeTarget(other) == node
+                        && graph.getEdgeLength(other)
+                            == graph.getEdgeLength(edge);
+                }
+                assertTrue("edge without a way back", back);
+                total += graph.getEdgeLength(edge);
+            }
+        }
+        assertEquals(graph.getEdgeCount(), 2 * (graph.getNodeCount() - 1));
+        assertEquals(2 * (blocked.getHeight() * blocked.getWidth()
+            - blocked.cardinality() - 1), total);
+    }
+
+    /**
+     * The hard maze shrinks to a fraction of its open cells and is
+     * still won.
+     *
+     * @throws FileNotFoundException if the data is missing
+     */
+    @Test
+    public void testHardMaze() throws FileNotFoundException
+    {
+        MazeGame game = new MazeGame("src/data/hard.txt");
+        game.setOutput(MazeOutput.NONE);
+        CorridorGraph graph = CorridorGraph.build(game);
+        GridView blocked = game.getBlockedView();
+        int cells = 0;
+        for (int row = 0; row < blocked.getHeight(); row++)
+        {
+            for (int col = 0; col < blocked.getWidth(); col++)
+            {
+                cells += blocked.get(row, col) ? 0 : 1;
+            }
+        }
+        assertTrue(graph.getNodeCount() + " nodes for " + cells + " cells",
+            3 * graph.getNodeCount() < cells);
+        assertEquals(graph.getStartNode(), graph.nodeAt(
+            game.getPlayerRow(), game.getPlayerCol()));
+        MazePath path = graph.solve();
+        assertEquals(new BfsSolver().solve(game).length(), path.length());
+        assertEquals(GameOutcome.WON, game.playMoves(path.toInput()));
+    }
+
+    /**
+     * expand rejects edges that do not chain.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testExpandChecksChain()
+    {
+        CorridorGraph graph = CorridorGraph.build(
+            MazeTestUtils.grid("000", "010", "000"), 0, 0, 2, 2);
+        graph.expand(graph.edgeBegin(graph.getGoalNode()),
+            graph.edgeBegin(graph.getGoalNode()));
+    }
+}
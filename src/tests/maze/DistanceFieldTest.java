@@ -0,0 +1,147 @@
+package maze;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.util.Scanner;
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+/**
+ * Tests DistanceField and the hints built on it.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public class DistanceFieldTest
+{
+    /**
+     * Number of random grids to check.
+     */
+    private static final int TRIALS = 100;
+
+    /**
+     * Every distance matches a BFS from that cell, and following
+     * bestMove gets there in that many steps.
+     */
+    @Test
+    public void testMatchesBfs()
+    {
+        SplittableRandom random = new SplittableRandom(16);
+        BfsSolver bfs = new BfsSolver();
+        for (int i = 0; i < TRIALS; i++)
+        {
+            BitGrid blocked = MazeTestUtils.randomGrid(random,
+                1 + random.nextInt(15), 1 + random.nextInt(15), 0.3);
+            int[] ends = MazeTestUtils.openEnds(random, blocked);
+            DistanceField field = DistanceField.compute(blocked,
+                ends[2], ends[3]);
+            for (int row = 0; row < blocked.getHeight(); row++)
+            {
+                for (int col = 0; col < blocked.getWidth(); col++)
+                {
+                    MazePath path = blocked.get(row, col) ? null
+                        : bfs.solve(blocked, row, col, ends[2], ends[3]);
+                    assertEquals(path == null ? -1 : path.length(),
+                        field.distance(row, col));
+                    if (path != null)
+                    {
+                        assertEquals(path.length(), walk(field, row, col));
+                    }
+                }
+            }
+            assertEquals(-1, field.distance(-1, 0));
+            assertNull(field.bestMove(ends[2], ends[3]));
+        }
+    }
+
+    /**
+     * A game autoplays to the goal on bestNextMove, and the field
+     * comes from the template.
+     *
+     * @throws FileNotFoundException if the data is missing
+     */
+    @Test
+    public void testAutoplay() throws FileNotFoundException
+    {
+        MazeGame game = new MazeGame("src/data/hard.txt");
+        game.setOutput(MazeOutput.NONE);
+        int moves = 0;
+        for (Move move = game.bestNextMove(); move != null;
+            move = game.bestNextMove())
+        {
+            game.playMoves(move.getWord());
+            moves++;
+        }
+        assertEquals(game.getGoalRow(), game.getPlayerRow());
+        assertEquals(game.getGoalCol(), game.getPlayerCol());
+        assertEquals(new BfsSolver().solve(game.getTemplate()
+            .getBlockedView(), game.getStartRow(), game.getStartCol(),
+            game.getGoalRow(), game.getGoalCol()).length(), moves);
+        assertSame(game.getTemplate().getDistances(),
+            game.getTemplate().getDistances());
+    }
+
+    /**
+     * Moving the goal or the walls gives fresh hints.
+     */
+    @Test
+    public void testInvalidation()
+    {
+        MazeGame game = new MazeGame(MazeTemplate.of(
+            MazeTestUtils.grid("000", "010", "000"),
+            new int[] {0, 0}, new int[] {0, 2}));
+        assertEquals(Move.RIGHT, game.bestNextMove());
+        game.setGoalRow(2);
+        game.setGoalCol(0);
+        assertEquals(Move.DOWN, game.bestNextMove());
+        game.setBlocked(new boolean[][] {{false, false, false},
+            {true, true, true}, {false, false, false}});
+        assertNull(game.bestNextMove());
+    }
+
+    /**
+     * The hint command prints the best move and leaves the player.
+     */
+    @Test
+    public void testHintCommand()
+    {
+        MazeGame game = new MazeGame(MazeTemplate.of(
+            MazeTestUtils.grid("000", "010", "000"),
+            new int[] {0, 0}, new int[] {0, 2}), new Scanner("hint\nq\n"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        game.setOutput(MazeOutput.toStream(out));
+        game.playGame();
+        assertTrue(out.toString().contains("Hint: right"));
+        assertEquals(0, game.getPlayerCol());
+        assertEquals(GameOutcome.UNFINISHED, game.playMoves("hint x99"));
+        assertEquals(0, game.getPlayerCol());
+    }
+
+    /**
+     * Follows best moves to the goal.
+     *
+     * @param field the distances
+     * @param row start row
+     * @param col start col
+     * @return moves taken
+     */
+    private static int walk(DistanceField field, int row, int col)
+    {
+        int moves = 0;
+        for (Move move = field.bestMove(row, col); move != null;
+            move = field.bestMove(row, col))
+        {
+            row += move.getRowStep();
+            col += move.getColStep();
+            moves++;
+        }
+        assertEquals(0, field.distance(row, col));
+        return moves;
+    }
+}
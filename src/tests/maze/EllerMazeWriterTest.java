@@ -0,0 +1,147 @@
+package maze;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+/**
+ * Tests EllerMazeWriter.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public class EllerMazeWriterTest
+{
+    /**
+     * Sizes to write, odd, even and degenerate.
+     */
+    private static final int[][] SIZES = {{1, 1}, {1, 9}, {9, 1},
+        {2, 2}, {7, 7}, {8, 13}, {31, 64}, {65, 130}, {300, 5}};
+
+    /**
+     * Text mazes load as perfect mazes with S and G in the corner
+     * rooms, and match the binary maze from the same seed.
+     *
+     * @throws IOException if the channel fails
+     */
+    @Test
+    public void testPerfect() throws IOException
+    {
+        for (int[] size : SIZES)
+        {
+            MazeTemplate text = MazeTemplate.parse(ByteBuffer.wrap(
+                write(size, new SplittableRandom(size[0]), false)));
+            MazeTemplate binary = MazeTemplate.parse(ByteBuffer.wrap(
+                write(size, new SplittableRandom(size[0]), true)));
+            String name = size[0] + "x" + size[1];
+            assertEquals(name, size[0], text.getHeight());
+            assertEquals(name, size[1], text.getWidth());
+            assertEquals(name, BitGrid.fromArray(text.getBlockedView()
+                .toArray()), BitGrid.fromArray(binary.getBlockedView()
+                .toArray()));
+            assertEquals(0, text.getStartRow());
+            assertEquals(0, text.getStartCol());
+            assertEquals((size[0] - 1) & ~1, text.getGoalRow());
+            assertEquals((size[1] - 1) & ~1, text.getGoalCol());
+            assertEquals(text.getGoalRow(), binary.getGoalRow());
+            assertEquals(text.getGoalCol(), binary.getGoalCol());
+
+            BitGrid blocked = BitGrid.fromArray(text.getBlockedView()
+                .toArray());
+            long rooms = (long) ((size[0] + 1) / 2) * ((size[1] + 1) / 2);
+            long open = (long) size[0] * size[1] - blocked.cardinality();
+            assertEquals(name, 2 * rooms - 1, open);
+            assertEquals(name, open, new WavefrontReachability(blocked)
+                .reachable(0, 0).cardinality());
+        }
+    }
+
+    /**
+     * A seed always writes the same maze, and another seed another.
+     *
+     * @throws IOException if the channel fails
+     */
+    @Test
+    public void testSeeded() throws IOException
+    {
+        int[] size = {41, 57};
+        byte[] first = write(size, new SplittableRandom(9), false);
+        assertEquals(new String(first), new String(write(size,
+            new SplittableRandom(9), false)));
+        assertNotEquals(new String(first), new String(write(size,
+            new SplittableRandom(10), false)));
+    }
+
+    /**
+     * Files written by name load through MazeGame.
+     *
+     * @throws IOException if the file can not be written
+     */
+    @Test
+    public void testFiles() throws IOException
+    {
+        File textFile = File.createTempFile("eller", ".txt");
+        File binaryFile = File.createTempFile("eller", ".bin");
+        textFile.deleteOnExit();
+        binaryFile.deleteOnExit();
+        EllerMazeWriter.writeText(textFile.getPath(), 21, 33,
+            new SplittableRandom(2));
+        EllerMazeWriter.writeBinary(binaryFile.getPath(), 21, 33,
+            new SplittableRandom(2));
+        MazeGame text = new MazeGame(MazeTemplate.parse(ByteBuffer.wrap(
+            Files.readAllBytes(textFile.toPath()))));
+        MazeGame binary = new MazeGame(MazeTemplate.parse(ByteBuffer.wrap(
+            Files.readAllBytes(binaryFile.toPath()))));
+        text.setOutput(MazeOutput.NONE);
+        assertEquals(GameOutcome.WON, text.playMoves(new BfsSolver()
+            .solve(text).toInput()));
+        assertEquals(BitGrid.fromArray(text.getBlocked()),
+            BitGrid.fromArray(binary.getBlocked()));
+    }
+
+    /**
+     * Sizes below 1 are refused.
+     *
+     * @throws IOException if the channel fails
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadSize() throws IOException
+    {
+        write(new int[] {3, 0}, new SplittableRandom(1), false);
+    }
+
+    /**
+     * Writes a maze into memory.
+     *
+     * @param size rows and cols
+     * @param random the randomness
+     * @param binary true for the binary format
+     * @return the bytes
+     * @throws IOException if the channel fails
+     */
+    private static byte[] write(int[] size, SplittableRandom random,
+        boolean binary) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        if (binary)
+        {
+            EllerMazeWriter.writeBinary(Channels.newChannel(bytes),
+                size[0], size[1], random);
+        }
+        else
+        {
+            EllerMazeWriter.writeText(Channels.newChannel(bytes),
+                size[0], size[1], random);
+        }
+        return bytes.toByteArray();
+    }
+}
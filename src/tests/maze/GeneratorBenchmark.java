@@ -0,0 +1,138 @@
+package maze;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Times SeededMazeGenerator on a big maze with each algorithm: the
+ * first carve, before the JIT has compiled that algorithm, and the
+ * fastest and slowest of several once it has. Each of those rounds
+ * carves a different maze, and WILSON's time swings widely from maze
+ * to maze, so each algorithm is also timed on one fixed seed, and the
+ * benchmark fails if the best of those takes LIMIT_MS or more. Run
+ * with make bench.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public class GeneratorBenchmark
+{
+    private static final int SIZE = 4096;
+    private static final int WARMUP = 3;
+    private static final int ROUNDS = 5;
+    private static final long SEED = 1;
+    private static final double LIMIT_MS = 1000;
+    private static final int TALL = 100_001;
+    private static final int WIDE = 2049;
+    private static final int BATCH = 64;
+    private static final int BATCH_SIZE = 513;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args command line arguments, unused
+     * @throws IOException if the streamed maze can not be written
+     * @throws IllegalStateException if a seeded carve is over the limit
+     */
+    public static void main(String[] args) throws IOException
+    {
+        String slow = null;
+        for (MazeAlgorithm algorithm : MazeAlgorithm.values())
+        {
+            SplittableRandom random = new SplittableRandom(SIZE);
+            long begin = System.nanoTime();
+            SeededMazeGenerator.carve(SIZE, SIZE, algorithm, random);
+            long first = System.nanoTime() - begin;
+            for (int i = 1; i < WARMUP; i++)
+            {
+                SeededMazeGenerator.carve(SIZE, SIZE, algorithm, random);
+            }
+            long best = Long.MAX_VALUE;
+            long worst = 0;
+            for (int i = 0; i < ROUNDS; i++)
+            {
+                begin = System.nanoTime();
+                SeededMazeGenerator.carve(SIZE, SIZE, algorithm, random);
+                long elapsed = System.nanoTime() - begin;
+                best = Math.min(best, elapsed);
+                worst = Math.max(worst, elapsed);
+            }
+            long seeded = Long.MAX_VALUE;
+            for (int i = 0; i < ROUNDS; i++)
+            {
+                begin = System.nanoTime();
+                SeededMazeGenerator.carve(SIZE, SIZE, algorithm,
+                    new SplittableRandom(SEED));
+                seeded = Math.min(seeded, System.nanoTime() - begin);
+            }
+            System.out.printf("%d^2 %-12s first %7.1f ms  warm %7.1f"
+                + " to %7.1f ms  seed %d %7.1f ms%n", SIZE, algorithm,
+                first / 1e6, best / 1e6, worst / 1e6, SEED, seeded / 1e6);
+            if (seeded / 1e6 >= LIMIT_MS && slow == null)
+            {
+                slow = algorithm + " took " + seeded / 1e6 + " ms";
+            }
+        }
+        stream();
+        batch();
+        if (slow != null)
+        {
+            throw new IllegalStateException(slow + " on seed " + SEED
+                + ", over the " + LIMIT_MS + " ms limit");
+        }
+    }
+
+    /**
+     * Times a batch of solved mazes on one thread and on the common
+     * pool, to show how it scales with the cores.
+     */
+    private static void batch()
+    {
+        ForkJoinPool single = new ForkJoinPool(1);
+        try
+        {
+            for (ForkJoinPool pool : new ForkJoinPool[] {single,
+                ForkJoinPool.commonPool()})
+            {
+                MazeBatch batch = new MazeBatch(BATCH_SIZE, BATCH_SIZE,
+                    MazeAlgorithm.BACKTRACKER, pool);
+                batch.generate(BATCH, 0);
+                long begin = System.nanoTime();
+                batch.generate(BATCH, 1);
+                System.out.printf("%d x %d^2 batch, %d threads %8.1f ms%n",
+                    BATCH, BATCH_SIZE, pool.getParallelism(),
+                    (System.nanoTime() - begin) / 1e6);
+            }
+        }
+        finally
+        {
+            single.shutdown();
+        }
+    }
+
+    /**
+     * Times streaming a tall binary maze to a file with Eller's
+     * algorithm, whose memory does not grow with the height.
+     *
+     * @throws IOException if the file can not be written
+     */
+    private static void stream() throws IOException
+    {
+        File file = File.createTempFile("eller", ".bin");
+        try
+        {
+            long begin = System.nanoTime();
+            EllerMazeWriter.writeBinary(file.getPath(), TALL, WIDE,
+                new SplittableRandom(TALL));
+            long elapsed = System.nanoTime() - begin;
+            System.out.printf("%dx%d eller binary %8.1f ms  %6.1f MB%n",
+                TALL, WIDE, elapsed / 1e6, file.length() / 1e6);
+        }
+        finally
+        {
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package maze;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+/**
+ * Tests HierarchicalPlanner.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public class HierarchicalPlannerTest
+{
+    /**
+     * Number of random grids to compare against BFS.
+     */
+    private static final int TRIALS = 200;
+
+    /**
+     * Edits made to each edited grid.
+     */
+    private static final int EDITS = 40;
+
+    /**
+     * On random grids and cluster sizes the planner finds a path
+     * exactly when BFS does, never shorter, over open cells.
+     */
+    @Test
+    public void testMatchesBfsReachability()
+    {
+        SplittableRandom random = new SplittableRandom(21);
+        BfsSolver bfs = new BfsSolver();
+        for (int i = 0; i < TRIALS; i++)
+        {
+            BitGrid blocked = MazeTestUtils.randomGrid(random,
+                1 + random.nextInt(40), 1 + random.nextInt(40), 0.3);
+            int[] ends = MazeTestUtils.openEnds(random, blocked);
+            HierarchicalPlanner planner = new HierarchicalPlanner(blocked,
+                1 + random.nextInt(10));
+            check(bfs, blocked, planner.path(ends[0], ends[1], ends[2],
+                ends[3]), ends, false);
+        }
+    }
+
+    /**
+     * A perfect maze has one way through, so the planner finds it.
+     */
+    @Test
+    public void testPerfectMazeIsExact()
+    {
+        SplittableRandom random = new SplittableRandom(7);
+        BfsSolver bfs = new BfsSolver();
+        int size = 101;
+        BitGrid blocked = SeededMazeGenerator.carve(size, size,
+            MazeAlgorithm.BACKTRACKER, random);
+        HierarchicalPlanner planner = new HierarchicalPlanner(blocked);
+        for (int i = 0; i < TRIALS; i++)
+        {
+            int[] ends = {random.nextInt(size / 2 + 1) * 2,
+                random.nextInt(size / 2 + 1) * 2,
+                random.nextInt(size / 2 + 1) * 2,
+                random.nextInt(size / 2 + 1) * 2};
+            check(bfs, blocked, planner.path(ends[0], ends[1], ends[2],
+                ends[3]), ends, true);
+        }
+        assertTrue(planner.getExpanded() > 0);
+    }
+
+    /**
+     * A planner listening to a game keeps up with its cell edits.
+     */
+    @Test
+    public void testEdits()
+    {
+        SplittableRandom random = new SplittableRandom(22);
+        BfsSolver bfs = new BfsSolver();
+        for (int i = 0; i < TRIALS / 10; i++)
+        {
+            BitGrid blocked = MazeTestUtils.randomGrid(random,
+                1 + random.nextInt(30), 1 + random.nextInt(30), 0.3);
+            int[] ends = MazeTestUtils.openEnds(random, blocked);
+            MazeGame game = new MazeGame(MazeTemplate.of(blocked,
+                new int[] {ends[0], ends[1]}, new int[] {ends[2], ends[3]}));
+            HierarchicalPlanner planner = new HierarchicalPlanner(
+                game.getBlockedView(), 1 + random.nextInt(8));
+            game.addEditListener(planner);
+            for (int edit = 0; edit < EDITS; edit++)
+            {
+                int row = random.nextInt(game.getHeight());
+                int col = random.nextInt(game.getWidth());
+                if (row != ends[0] || col != ends[1])
+                {
+                    game.setBlockedCell(row, col, random.nextBoolean());
+                }
+                check(bfs, game.getBlockedView(), planner.path(game),
+                    new int[] {ends[0], ends[1], ends[2], ends[3]}, false);
+            }
+            game.setBlocked(new boolean[2][3]);
+            assertEquals(3, planner.path(0, 0, 1, 2).length());
+        }
+    }
+
+    /**
+     * Clusters must have a size.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadClusterSize()
+    {
+        new HierarchicalPlanner(new BitGrid(2, 2), 0);
+    }
+
+    /**
+     * Checks a planner's path against BFS.
+     *
+     * @param bfs the solver
+     * @param blocked the walls
+     * @param path the planner's path
+     * @param ends start row, start col, goal row, goal col
+     * @param exact true if the path must be a shortest one
+     */
+    private static void check(BfsSolver bfs, GridView blocked,
+        MazePath path, int[] ends, boolean exact)
+    {
+        MazePath expected = bfs.solve(blocked, ends[0], ends[1], ends[2],
+            ends[3]);
+        if (expected == null)
+        {
+            assertNull(path);
+            return;
+        }
+        MazeTestUtils.assertPath(blocked, path, ends);
+        if (exact)
+        {
+            assertEquals(expected.length(), path.length());
+        }
+        else
+        {
+            assertTrue(path.length() >= expected.length());
+        }
+    }
+}
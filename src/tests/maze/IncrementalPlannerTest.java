@@ -0,0 +1,149 @@
+package maze;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+/**
+ * Tests IncrementalPlanner and MazeGame.setBlockedCell.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public class IncrementalPlannerTest
+{
+    /**
+     * Number of random grids to edit.
+     */
+    private static final int TRIALS = 60;
+
+    /**
+     * Edits made to each grid.
+     */
+    private static final int EDITS = 40;
+
+    /**
+     * After every edit, and as the player wanders, the repaired path
+     * is as short as a fresh BFS and walks only open cells.
+     */
+    @Test
+    public void testMatchesBfsAfterEdits()
+    {
+        SplittableRandom random = new SplittableRandom(20);
+        BfsSolver bfs = new BfsSolver();
+        for (int i = 0; i < TRIALS; i++)
+        {
+            BitGrid blocked = MazeTestUtils.randomGrid(random,
+                1 + random.nextInt(20), 1 + random.nextInt(20), 0.3);
+            int[] ends = MazeTestUtils.openEnds(random, blocked);
+            MazeGame game = new MazeGame(MazeTemplate.of(blocked,
+                new int[] {ends[0], ends[1]}, new int[] {ends[2], ends[3]}));
+            game.setOutput(MazeOutput.NONE);
+            IncrementalPlanner planner = new IncrementalPlanner(game);
+            for (int edit = 0; edit < EDITS; edit++)
+            {
+                int row = random.nextInt(game.getHeight());
+                int col = random.nextInt(game.getWidth());
+                if (row != game.getPlayerRow() || col != game.getPlayerCol())
+                {
+                    game.setBlockedCell(row, col, random.nextBoolean());
+                }
+                if (random.nextInt(4) == 0)
+                {
+                    game.playMoves(Move.values()[random.nextInt(4)]
+                        .getWord());
+                }
+                check(bfs, game, planner.path());
+            }
+        }
+    }
+
+    /**
+     * A wall far from a settled path costs nothing, one across it
+     * is repaired without working the whole grid, and moving the
+     * goal starts over.
+     */
+    @Test
+    public void testRepairIsLocal()
+    {
+        int size = 200;
+        MazeGame game = new MazeGame(MazeTemplate.of(
+            new BitGrid(size, size), new int[] {0, 0},
+            new int[] {0, size - 1}));
+        IncrementalPlanner planner = new IncrementalPlanner(game);
+        assertEquals(size - 1, planner.path().length());
+
+        game.setBlockedCell(size - 1, size - 1, true);
+        assertEquals(size - 1, planner.path().length());
+        assertEquals(0, planner.getExpanded());
+
+        game.setBlockedCell(0, size / 2, true);
+        assertEquals(size + 1, planner.path().length());
+        assertTrue(planner.getExpanded() < size * size / 20);
+
+        game.setGoalRow(1);
+        check(new BfsSolver(), game, planner.path());
+        game.setBlockedCell(1, size - 2, true);
+        check(new BfsSolver(), game, planner.path());
+        planner.detach();
+    }
+
+    /**
+     * Edits copy the walls away from the template, ignore cells off
+     * the board, and can cut the goal off.
+     */
+    @Test
+    public void testSetBlockedCell()
+    {
+        MazeTemplate template = MazeTemplate.of(
+            MazeTestUtils.grid("000", "000", "000"),
+            new int[] {0, 0}, new int[] {2, 2});
+        MazeGame game = new MazeGame(template);
+        MazeGame other = new MazeGame(template);
+        IncrementalPlanner planner = new IncrementalPlanner(game);
+        assertEquals(4, planner.path().length());
+
+        game.setBlockedCell(1, 1, true);
+        game.setBlockedCell(-1, 1, true);
+        game.setBlockedCell(1, 3, true);
+        assertTrue(game.isBlocked(1, 1));
+        assertFalse(other.isBlocked(1, 1));
+        assertFalse(template.getBlockedView().get(1, 1));
+        assertEquals(4, planner.path().length());
+
+        game.setBlockedCell(1, 2, true);
+        game.setBlockedCell(2, 1, true);
+        assertNull(planner.path());
+        assertNull(game.bestNextMove());
+        game.setBlockedCell(2, 1, false);
+        assertEquals(4, planner.path().length());
+        assertEquals(Move.DOWN, game.bestNextMove());
+    }
+
+    /**
+     * Checks a planner's path against BFS from the player.
+     *
+     * @param bfs the solver
+     * @param game the game
+     * @param path the planner's path
+     */
+    private static void check(BfsSolver bfs, MazeGame game, MazePath path)
+    {
+        int[] ends = {game.getPlayerRow(), game.getPlayerCol(),
+            game.getGoalRow(), game.getGoalCol()};
+        MazePath expected = bfs.solve(game.getBlockedView(), ends[0],
+            ends[1], ends[2], ends[3]);
+        if (expected == null)
+        {
+            assertNull(path);
+            return;
+        }
+        assertEquals(expected.length(), path.length());
+        MazeTestUtils.assertPath(game.getBlockedView(), path, ends);
+    }
+}
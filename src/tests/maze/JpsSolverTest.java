@@ -0,0 +1,92 @@
+package maze;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+/**
+ * Tests JpsSolver against BfsSolver.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public class JpsSolverTest
+{
+    /**
+     * Number of random grids to compare against BFS.
+     */
+    private static final int TRIALS = 2000;
+
+    /**
+     * Jump point paths are as short as BFS paths on random grids
+     * of every wall density.
+     */
+    @Test
+    public void testMatchesBfs()
+    {
+        SplittableRandom random = new SplittableRandom(15);
+        JpsSolver jps = new JpsSolver();
+        BfsSolver bfs = new BfsSolver();
+        for (int i = 0; i < TRIALS; i++)
+        {
+            BitGrid blocked = MazeTestUtils.randomGrid(random,
+                1 + random.nextInt(30), 1 + random.nextInt(30),
+                random.nextDouble() * 0.5);
+            int[] ends = MazeTestUtils.openEnds(random, blocked);
+            MazePath expected = bfs.solve(blocked, ends[0], ends[1],
+                ends[2], ends[3]);
+            MazePath path = jps.solve(blocked, ends[0], ends[1],
+                ends[2], ends[3]);
+            if (expected == null)
+            {
+                assertNull(path);
+                continue;
+            }
+            assertEquals("trial " + i, expected.length(), path.length());
+            MazeTestUtils.assertPath(blocked, path, ends);
+        }
+    }
+
+    /**
+     * Generated corridor mazes are solved with far fewer expansions
+     * than A*, and the same length.
+     */
+    @Test
+    public void testCorridorMaze()
+    {
+        int size = 401;
+        BitGrid blocked = SeededMazeGenerator.carve(size, size,
+            MazeAlgorithm.BACKTRACKER, new SplittableRandom(3));
+        AStarSolver astar = new AStarSolver();
+        JpsSolver jps = new JpsSolver();
+        MazePath expected = astar.solve(blocked, 0, 0, size - 1, size - 1);
+        MazePath path = jps.solve(blocked, 0, 0, size - 1, size - 1);
+        assertEquals(expected.length(), path.length());
+        assertTrue(jps.getExpanded() + " vs " + astar.getExpanded(),
+            2 * jps.getExpanded() < astar.getExpanded());
+    }
+
+    /**
+     * Lab mazes from the random generator are won by the path.
+     */
+    @Test
+    public void testRandomLabMazes()
+    {
+        MazeGenerator mg = new MazeGenerator();
+        mg.setup(MazeTestUtils.RANDOM_MAZE_FILE);
+        JpsSolver jps = new JpsSolver();
+        BfsSolver bfs = new BfsSolver();
+        for (int i = 0; i < 20; i++)
+        {
+            MazeGame game = MazeTestUtils.genRandomGame(mg);
+            MazePath path = jps.solve(game);
+            assertEquals(bfs.solve(game).length(), path.length());
+            game.setOutput(MazeOutput.NONE);
+            assertEquals(GameOutcome.WON, game.playMoves(path.toInput()));
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package maze;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests MazeBatch.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public class MazeBatchTest
+{
+    /**
+     * Mazes in each batch.
+     */
+    private static final int COUNT = 12;
+
+    /**
+     * Pool shared by the tests.
+     */
+    private static ForkJoinPool pool;
+
+    /**
+     * Starts the pool.
+     */
+    @BeforeClass
+    public static void beforeAll()
+    {
+        pool = new ForkJoinPool(4);
+    }
+
+    /**
+     * Stops the pool.
+     */
+    @AfterClass
+    public static void afterAll()
+    {
+        pool.shutdown();
+    }
+
+    /**
+     * Every maze comes with moves that win it.
+     */
+    @Test
+    public void testSolutionsWin()
+    {
+        for (MazeAlgorithm algorithm : MazeAlgorithm.values())
+        {
+            List<MazeBatch.Entry> entries = new MazeBatch(21, 34,
+                algorithm, pool).generate(COUNT, 24);
+            assertEquals(COUNT, entries.size());
+            for (int i = 0; i < COUNT; i++)
+            {
+                MazeBatch.Entry entry = entries.get(i);
+                assertEquals(i, entry.getIndex());
+                MazeGame game = new MazeGame(entry.getTemplate());
+                game.setOutput(MazeOutput.toStream(
+                    new ByteArrayOutputStream()));
+                assertEquals(GameOutcome.WON,
+                    game.playMoves(entry.getInput()));
+            }
+        }
+    }
+
+    /**
+     * A seed gives the same batch on any pool, and the mazes in it
+     * differ from each other.
+     */
+    @Test
+    public void testSeeded()
+    {
+        List<MazeBatch.Entry> parallel = new MazeBatch(31, 31,
+            MazeAlgorithm.WILSON, pool).generate(COUNT, 5);
+        List<MazeBatch.Entry> common = new MazeBatch(31, 31,
+            MazeAlgorithm.WILSON).generate(COUNT, 5);
+        for (int i = 0; i < COUNT; i++)
+        {
+            assertSameWalls(common.get(i).getTemplate(),
+                parallel.get(i).getTemplate());
+            assertEquals(common.get(i).getInput(),
+                parallel.get(i).getInput());
+        }
+        assertNotEquals(parallel.get(0).getInput(),
+            parallel.get(1).getInput());
+    }
+
+    /**
+     * Written mazes load back as the mazes generated in memory, each
+     * next to its moves.
+     *
+     * @throws IOException if the files can not be written
+     */
+    @Test
+    public void testWrite() throws IOException
+    {
+        MazeBatch batch = new MazeBatch(15, 20, MazeAlgorithm.KRUSKAL,
+            pool);
+        List<MazeBatch.Entry> entries = batch.generate(COUNT, 9);
+        Path directory = Files.createTempDirectory("batch");
+        try
+        {
+            batch.write(directory.toString(), COUNT, 9);
+            for (int i = 0; i < COUNT; i++)
+            {
+                MazeTemplate template = MazeTemplate.load(directory
+                    .resolve(MazeBatch.mazeFile(i)).toString());
+                MazeTemplate expected = entries.get(i).getTemplate();
+                assertEquals(expected.getGoalRow(), template.getGoalRow());
+                assertEquals(expected.getGoalCol(), template.getGoalCol());
+                assertSameWalls(expected, template);
+                assertEquals(entries.get(i).getInput(), Files.readString(
+                    directory.resolve(MazeBatch.movesFile(i)),
+                    StandardCharsets.US_ASCII));
+            }
+        }
+        finally
+        {
+            for (File file : directory.toFile().listFiles())
+            {
+                file.delete();
+            }
+            Files.delete(directory);
+        }
+    }
+
+    /**
+     * Writing to a missing directory fails with the IOException.
+     *
+     * @throws IOException always
+     */
+    @Test(expected = IOException.class)
+    public void testMissingDirectory() throws IOException
+    {
+        new MazeBatch(3, 3, MazeAlgorithm.BACKTRACKER, pool)
+            .write("src/data/no_such_directory", 2, 1);
+    }
+
+    /**
+     * A batch can not have fewer than no mazes.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeCount()
+    {
+        new MazeBatch(3, 3, MazeAlgorithm.BACKTRACKER, pool)
+            .generate(-1, 1);
+    }
+
+    /**
+     * Mazes must have a size.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadSize()
+    {
+        new MazeBatch(0, 3, MazeAlgorithm.BACKTRACKER);
+    }
+
+    /**
+     * Checks that two mazes have the same walls.
+     *
+     * @param expected the maze wanted
+     * @param actual the maze got
+     */
+    private static void assertSameWalls(MazeTemplate expected,
+        MazeTemplate actual)
+    {
+        assertEquals(expected.getHeight(), actual.getHeight());
+        assertEquals(expected.getWidth(), actual.getWidth());
+        for (int row = 0; row < expected.getHeight(); row++)
+        {
+            for (int col = 0; col < expected.getWidth(); col++)
+            {
+                assertEquals(expected.getBlockedView().get(row, col),
+                    actual.getBlockedView().get(row, col));
+            }
+        }
+    }
+}
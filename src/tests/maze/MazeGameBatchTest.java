@@ -0,0 +1,143 @@
+package maze;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Scanner;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests playing a run of moves with playMoves.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public class MazeGameBatchTest
+{
+    /**
+     * Game on the small maze, writing into out.
+     */
+    private MazeGame game;
+
+    /**
+     * Everything the game printed.
+     */
+    private ByteArrayOutputStream out;
+
+    /**
+     * Builds the small maze.
+     */
+    @Before
+    public void beforeEach()
+    {
+        out = new ByteArrayOutputStream();
+        game = new MazeGame(MazeTestUtils.smallMaze());
+        game.setOutput(MazeOutput.toStream(out));
+    }
+
+    /**
+     * A winning run stops at the goal and ignores what follows.
+     */
+    @Test
+    public void testWin()
+    {
+        assertEquals(GameOutcome.WON,
+            game.playMoves("right r down\tD right left left"));
+        assertEquals(2, game.getPlayerRow());
+        assertEquals(3, game.getPlayerCol());
+        assertTrue(game.isVisited(1, 2));
+        assertEquals("playMoves should not draw", 0, out.size());
+    }
+
+    /**
+     * Walls stop a move, and unknown words are skipped quietly.
+     */
+    @Test
+    public void testBlockedAndUnknown()
+    {
+        assertEquals(GameOutcome.UNFINISHED,
+            game.playMoves("  up left xyz down 42 right "));
+        assertEquals(0, game.getPlayerRow());
+        assertEquals(1, game.getPlayerCol());
+        assertEquals(0, out.size());
+    }
+
+    /**
+     * A quit ends the run where the player stands.
+     */
+    @Test
+    public void testQuit()
+    {
+        assertEquals(GameOutcome.QUIT, game.playMoves("r quit r"));
+        assertEquals(1, game.getPlayerCol());
+        assertEquals(GameOutcome.UNFINISHED, game.playMoves(""));
+    }
+
+    /**
+     * The byte version plays the same as the text version.
+     */
+    @Test
+    public void testBytes()
+    {
+        byte[] moves = "r\nr\nd\nd\nr\n".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(GameOutcome.WON, game.playMoves(moves));
+        assertEquals(2, game.getPlayerRow());
+        assertEquals(3, game.getPlayerCol());
+        assertEquals(0, out.size());
+    }
+
+    /**
+     * Counts move several cells, stopping at walls, and every cell
+     * passed is visited.
+     */
+    @Test
+    public void testCounts()
+    {
+        assertEquals(GameOutcome.UNFINISHED, game.playMoves("right 9"));
+        assertEquals(2, game.getPlayerCol());
+        assertTrue(game.isVisited(0, 1));
+        assertEquals(GameOutcome.UNFINISHED, game.playMoves("d1 l0 u 0"));
+        assertEquals(1, game.getPlayerRow());
+        assertEquals(2, game.getPlayerCol());
+        assertEquals(GameOutcome.WON,
+            game.playMoves("down99\nr 5 left 2".getBytes(
+                StandardCharsets.US_ASCII)));
+        assertEquals(3, game.getPlayerCol());
+    }
+
+    /**
+     * A count only joins its move on the same line, and a run
+     * stops on the goal.
+     */
+    @Test
+    public void testCountWordsAndGoal()
+    {
+        assertEquals(GameOutcome.UNFINISHED, game.playMoves("r\n2"));
+        assertEquals(1, game.getPlayerCol());
+        game.setPlayerRow(2);
+        game.setPlayerCol(2);
+        assertEquals(GameOutcome.WON, game.playMoves("r 3"));
+        assertEquals(3, game.getPlayerCol());
+    }
+
+    /**
+     * playGame takes counts too, drawing once per command.
+     */
+    @Test
+    public void testPlayGameCounts()
+    {
+        game.setPlayerInput(new Scanner("right 2\nd5 r\n"));
+        game.playGame();
+        assertEquals(2, game.getPlayerRow());
+        assertEquals(3, game.getPlayerCol());
+        assertTrue(game.isVisited(1, 2));
+        String printed = out.toString();
+        assertEquals("one board per command", 3,
+            printed.split("Enter your move", -1).length - 1);
+        assertTrue(printed.endsWith("You Won!" + System.lineSeparator()));
+    }
+}
@@ -113,8 +113,8 @@ public class MazeGameHelperTest
                     MazeTestUtils.validateSpot(start[ROW], start[COL], startSpot[ROW], startSpot[COL], preamble, "start");
                     MazeTestUtils.validateSpot(goal[ROW], goal[COL], goalSpot[ROW], goalSpot[COL], preamble, "goal");
                     MazeTestUtils.validateSpot(start[ROW], start[COL], playerSpot[ROW], playerSpot[COL], preamble, "player");
-                    MazeTestUtils.validateArrays(blocked, (boolean[][]) gameBlocked.get(game), preamble, "blocked");
-                    MazeTestUtils.validateArrays(visited, (boolean[][]) gameVisited.get(game), preamble, "visited");
+                    MazeTestUtils.validateArrays(blocked, ((BitGrid) gameBlocked.get(game)).toArray(), preamble, "blocked");
+                    MazeTestUtils.validateArrays(visited, ((BitGrid) gameVisited.get(game)).toArray(), preamble, "visited");
                 }
                 catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e)
                 {
@@ -0,0 +1,105 @@
+package maze;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that MazeGame works on mazes that are not the lab size.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public class MazeGameSizeTest
+{
+    /**
+     * Where the odd sized maze gets written.
+     */
+    private File mazeFile;
+
+    /**
+     * Writes a 3 x 5 maze.
+     *
+     * @throws IOException if the temp file cannot be made
+     */
+    @Before
+    public void beforeEach() throws IOException
+    {
+        mazeFile = File.createTempFile("maze", ".txt");
+        PrintWriter pw = new PrintWriter(mazeFile);
+        pw.println("S 0 0 1 0");
+        pw.println("1 1 0 1 0");
+        pw.println("0 0 0 0 G");
+        pw.close();
+    }
+
+    /**
+     * Removes the temp file.
+     */
+    @After
+    public void afterEach()
+    {
+        mazeFile.delete();
+    }
+
+    /**
+     * The game should take its size from the file.
+     */
+    @Test
+    public void testSizeFromFile() throws FileNotFoundException
+    {
+        MazeGame game = new MazeGame(mazeFile.getPath());
+        assertEquals("wrong height", 3, game.getHeight());
+        assertEquals("wrong width", 5, game.getWidth());
+        assertEquals("blocked has the wrong number of rows",
+            3, game.getBlocked().length);
+        assertEquals("visited has the wrong number of columns",
+            5, game.getVisited()[0].length);
+        MazeTestUtils.validateSpot(2, 4, game.getGoalRow(), game.getGoalCol(),
+            "After loading a 3 x 5 maze", "goal");
+    }
+
+    /**
+     * Setters should be bounded by the game's own size.
+     */
+    @Test
+    public void testSettersUseOwnSize() throws FileNotFoundException
+    {
+        MazeGame game = new MazeGame(mazeFile.getPath());
+        game.setPlayerRow(3);
+        game.setPlayerCol(5);
+        MazeTestUtils.validateSpot(0, 0, game.getPlayerRow(), game.getPlayerCol(),
+            "Setting the player off a 3 x 5 maze", "player");
+        game.setPlayerRow(2);
+        game.setPlayerCol(4);
+        MazeTestUtils.validateSpot(2, 4, game.getPlayerRow(), game.getPlayerCol(),
+            "Setting the player on a 3 x 5 maze", "player");
+    }
+
+    /**
+     * Setting a bigger grid should resize the game.
+     */
+    @Test
+    public void testSetBlockedResizes() throws FileNotFoundException
+    {
+        MazeGame game = new MazeGame(mazeFile.getPath());
+        boolean[][] big = new boolean[40][60];
+        game.setBlocked(big);
+        assertEquals("wrong height", 40, game.getHeight());
+        assertEquals("wrong width", 60, game.getWidth());
+        game.setGoalRow(39);
+        game.setGoalCol(59);
+        MazeTestUtils.validateSpot(39, 59, game.getGoalRow(), game.getGoalCol(),
+            "After growing the maze", "goal");
+        assertTrue("visited should match the new size",
+            game.getVisited().length == 40 && game.getVisited()[0].length == 60);
+    }
+}
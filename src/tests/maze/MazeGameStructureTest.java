@@ -42,9 +42,9 @@ public class MazeGameStructureTest extends StructureTest
         fields[4] = new FieldSpec("playerInput", "private", 
             false, false, "java.util.Scanner");
         fields[5] = new FieldSpec("blocked", "private", 
-            false, false, "[[Z");
+            false, false, "maze.BitGrid");
         fields[6] = new FieldSpec("visited", "private", 
-            false, false, "[[Z");
+            false, false, "maze.BitGrid");
         fields[7] = new FieldSpec("player", "private", 
             false, false, "[I");
         fields[8] = new FieldSpec("goal", "private", 
@@ -0,0 +1,98 @@
+package maze;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static maze.MazeTestUtils.HEIGHT;
+import static maze.MazeTestUtils.WIDTH;
+
+/**
+ * Tests the no-copy accessors of MazeGame.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public class MazeGameViewTest
+{
+    /**
+     * MazeGame object used by all tests.
+     */
+    private MazeGame game;
+
+    /**
+     * Makes a random game.
+     */
+    @Before
+    public void beforeEach()
+    {
+        MazeGenerator mg = new MazeGenerator();
+        mg.setup(MazeTestUtils.RANDOM_MAZE_FILE);
+        game = MazeTestUtils.genRandomGame(mg);
+    }
+
+    /**
+     * isBlocked and isVisited should agree with the copying getters.
+     */
+    @Test
+    public void testCellAccessors()
+    {
+        MazeTestUtils.randomizeBoard(game);
+        boolean[][] blocked = game.getBlocked();
+        boolean[][] visited = game.getVisited();
+        for (int row = 0; row < HEIGHT; row++)
+        {
+            for (int col = 0; col < WIDTH; col++)
+            {
+                assertEquals(String.format("isBlocked(%d, %d)", row, col),
+                    blocked[row][col], game.isBlocked(row, col));
+                assertEquals(String.format("isVisited(%d, %d)", row, col),
+                    visited[row][col], game.isVisited(row, col));
+            }
+        }
+    }
+
+    /**
+     * Off the board is blocked and never visited.
+     */
+    @Test
+    public void testCellAccessorsOffBoard()
+    {
+        assertTrue("off the top should be blocked", game.isBlocked(-1, 0));
+        assertTrue("off the right should be blocked", game.isBlocked(0, WIDTH));
+        assertFalse("off the bottom should not be visited",
+            game.isVisited(HEIGHT, 0));
+    }
+
+    /**
+     * Views should follow the game, even after the grids are replaced.
+     */
+    @Test
+    public void testViewsAreLive()
+    {
+        GridView blockedView = game.getBlockedView();
+        GridView visitedView = game.getVisitedView();
+        boolean[][] board = MazeTestUtils.getRandomBoard();
+        game.setBlocked(board);
+        game.setVisited(board);
+        MazeTestUtils.validateArrays(board, blockedView.toArray(),
+            "After setBlocked", "blocked view");
+        MazeTestUtils.validateArrays(board, visitedView.toArray(),
+            "After setVisited", "visited view");
+        assertSame("getBlockedView should not make a new view each call",
+            blockedView, game.getBlockedView());
+    }
+
+    /**
+     * Visited must be the size of the maze.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetVisitedWrongSize()
+    {
+        game.setVisited(new boolean[HEIGHT][WIDTH + 1]);
+    }
+}
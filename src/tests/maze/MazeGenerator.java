@@ -1,9 +1,7 @@
 package maze;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.PrintWriter;
 import static maze.MazeTestUtils.ROW;
 import static maze.MazeTestUtils.COL;
 
@@ -106,7 +104,7 @@ public class MazeGenerator
         try {
             printMazeToFile();
             return true;
-        } catch (FileNotFoundException e) {
+        } catch (IOException e) {
             System.out.println("Could not find the file: " + filename);
             return false;
         }
@@ -318,20 +316,11 @@ public class MazeGenerator
     /**
      * Prints the current maze to the current filename.
      * 
-     * @throws FileNotFoundException if the file does not exit
+     * @throws IOException if the file can not be written
      */
-    private void printMazeToFile() throws FileNotFoundException
+    private void printMazeToFile() throws IOException
     {
-        PrintWriter pw = new PrintWriter(filename);
-        for (String[] row : maze)
-        {
-            for (String cell : row)
-            {
-                pw.print(cell + " ");
-            }
-            pw.println();
-        }
-        pw.close();
+        TextMazeWriter.write(filename, BitGrid.fromArray(blocked), start, goal);
     }
 
     /**
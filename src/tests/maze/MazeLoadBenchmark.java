@@ -0,0 +1,118 @@
+package maze;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.Scanner;
+
+/**
+ * Compares the old Scanner based maze loading against MazeParser.
+ * Run with make bench.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public class MazeLoadBenchmark
+{
+    private static final String[] FILES = {"src/data/easy.txt",
+        "src/data/hard.txt"};
+    private static final int WARMUP = 20_000;
+    private static final int ROUNDS = 50_000;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args command line arguments, unused
+     * @throws FileNotFoundException if the data files are missing
+     */
+    public static void main(String[] args) throws FileNotFoundException
+    {
+        for (String file : FILES)
+        {
+            timeScanner(file, WARMUP);
+            long scanner = timeScanner(file, ROUNDS);
+            timeParser(file, WARMUP);
+            long parser = timeParser(file, ROUNDS);
+            System.out.printf("%-20s scanner %8.1f us/load   "
+                + "parser %8.1f us/load   %5.1fx%n", file,
+                scanner / 1000.0 / ROUNDS, parser / 1000.0 / ROUNDS,
+                (double) scanner / parser);
+        }
+    }
+
+    /**
+     * Times loads through the Scanner path.
+     *
+     * @param file maze file
+     * @param rounds number of loads
+     * @return elapsed nanos
+     * @throws FileNotFoundException if the file is missing
+     */
+    private static long timeScanner(String file, int rounds)
+        throws FileNotFoundException
+    {
+        long begin = System.nanoTime();
+        for (int i = 0; i < rounds; i++)
+        {
+            scannerLoad(file, new boolean[MazeGame.HEIGHT][MazeGame.WIDTH],
+                new int[2], new int[2]);
+        }
+        return System.nanoTime() - begin;
+    }
+
+    /**
+     * Times loads through MazeParser.
+     *
+     * @param file maze file
+     * @param rounds number of loads
+     * @return elapsed nanos
+     * @throws FileNotFoundException if the file is missing
+     */
+    private static long timeParser(String file, int rounds)
+        throws FileNotFoundException
+    {
+        long begin = System.nanoTime();
+        for (int i = 0; i < rounds; i++)
+        {
+            MazeParser.parse(file, new int[2], new int[2]);
+        }
+        return System.nanoTime() - begin;
+    }
+
+    /**
+     * The loading loop MazeGame used before MazeParser.
+     *
+     * @param file maze file
+     * @param blocked grid to fill
+     * @param start start spot
+     * @param goal goal spot
+     * @throws FileNotFoundException if the file is missing
+     */
+    private static void scannerLoad(String file, boolean[][] blocked,
+        int[] start, int[] goal) throws FileNotFoundException
+    {
+        Scanner eyes = new Scanner(new File(file));
+        for (int row = 0; row < blocked.length; row++)
+        {
+            for (int col = 0; col < blocked[row].length; col++)
+            {
+                switch (eyes.next())
+                {
+                    case "1":
+                        blocked[row][col] = true;
+                        break;
+                    case "S":
+                        start[0] = row;
+                        start[1] = col;
+                        break;
+                    case "G":
+                        goal[0] = row;
+                        goal[1] = col;
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+        eyes.close();
+    }
+}
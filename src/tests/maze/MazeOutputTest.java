@@ -0,0 +1,147 @@
+package maze;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests sending game output somewhere other than System.out.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public class MazeOutputTest
+{
+    /**
+     * Games run at once in the parallel test.
+     */
+    private static final int GAMES = 8;
+
+    /**
+     * Used to catch output printed to System.out.
+     */
+    private ByteArrayOutputStream baos;
+
+    /**
+     * Stores the original System.out.
+     */
+    private PrintStream oldOut;
+
+    /**
+     * Captures System.out.
+     */
+    @Before
+    public void beforeEach()
+    {
+        oldOut = System.out;
+        baos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(baos));
+    }
+
+    /**
+     * Restores System.out.
+     */
+    @After
+    public void afterEach()
+    {
+        System.setOut(oldOut);
+    }
+
+    /**
+     * An Appendable output should get the same board System.out would.
+     */
+    @Test
+    public void testAppendable() throws FileNotFoundException
+    {
+        StringBuilder out = new StringBuilder();
+        MazeGame game = new MazeGame("src/data/easy.txt", new Scanner(""),
+            MazeOutput.toAppendable(out));
+        game.printMaze();
+        assertEquals("Incorrect print output", MazeTestUtils.foo(game),
+            out.toString().replace(System.lineSeparator(), "\n"));
+        assertEquals("nothing should reach System.out", 0, baos.size());
+    }
+
+    /**
+     * A channel output should get the whole game.
+     */
+    @Test
+    public void testChannel() throws FileNotFoundException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        MazeGame game = new MazeGame("src/data/easy.txt",
+            new Scanner("down\nquit\n"));
+        game.setOutput(MazeOutput.toChannel(Channels.newChannel(bytes)));
+        game.playGame();
+        assertTrue("the game should end with Goodbye!",
+            bytes.toString().endsWith("Goodbye!" + System.lineSeparator()));
+        assertEquals("nothing should reach System.out", 0, baos.size());
+    }
+
+    /**
+     * The no-op output should still let the game play through.
+     */
+    @Test
+    public void testNone() throws FileNotFoundException
+    {
+        MazeGame game = new MazeGame("src/data/easy.txt",
+            new Scanner("down\nup\nx\nq\n"), MazeOutput.NONE);
+        game.playGame();
+        game.printMaze();
+        assertEquals("nothing should reach System.out", 0, baos.size());
+        assertTrue("the player should have visited row 1, col 0",
+            game.isVisited(1, 0));
+    }
+
+    /**
+     * Games on different threads should not mix their output.
+     *
+     * @throws Exception if a game fails
+     */
+    @Test
+    public void testParallelGames() throws Exception
+    {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try
+        {
+            List<Callable<String>> games = new ArrayList<>();
+            for (int i = 0; i < GAMES; i++)
+            {
+                games.add(() ->
+                {
+                    StringBuilder out = new StringBuilder();
+                    MazeGame game = new MazeGame("src/data/hard.txt",
+                        new Scanner("q\n"), MazeOutput.toAppendable(out));
+                    game.playGame();
+                    return out.toString();
+                });
+            }
+            List<Future<String>> results = pool.invokeAll(games);
+            for (Future<String> result : results)
+            {
+                assertEquals("every game should see the same output",
+                    results.get(0).get(), result.get());
+            }
+            assertEquals("nothing should reach System.out", 0, baos.size());
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+}
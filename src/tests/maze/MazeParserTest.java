@@ -0,0 +1,214 @@
+package maze;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+import static maze.MazeTestUtils.ROW;
+import static maze.MazeTestUtils.COL;
+
+/**
+ * Tests the byte level maze parser.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public class MazeParserTest
+{
+    /**
+     * Parsed random mazes should match what the generator wrote.
+     */
+    @Test
+    public void testParseMatchesGenerator() throws FileNotFoundException
+    {
+        MazeGenerator mg = new MazeGenerator();
+        mg.setup(MazeTestUtils.RANDOM_MAZE_FILE);
+        for (int i = 0; i < 10; i++)
+        {
+            mg.generateRandomMazeFile();
+            int[] start = new int[2];
+            int[] goal = new int[2];
+            boolean[][] blocked = MazeParser.parse(mg.getFilename(), start, goal)
+                .toArray();
+            String preamble = "After parsing a random maze";
+            MazeTestUtils.validateArrays(mg.getBlocked(), blocked,
+                preamble, "blocked");
+            MazeTestUtils.validateSpot(mg.getStart()[ROW], mg.getStart()[COL],
+                start[ROW], start[COL], preamble, "start");
+            MazeTestUtils.validateSpot(mg.getGoal()[ROW], mg.getGoal()[COL],
+                goal[ROW], goal[COL], preamble, "goal");
+        }
+    }
+
+    /**
+     * Tokens may be split by any whitespace, not just single spaces.
+     */
+    @Test
+    public void testParseMixedWhitespace()
+    {
+        String text = "S\t1 0\r\n\n  1  0\tG\n";
+        BitGrid blocked = new BitGrid(2, 3);
+        int[] start = new int[2];
+        int[] goal = new int[2];
+        MazeParser.parse(ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII)),
+            blocked, start, goal);
+        MazeTestUtils.validateArrays(new boolean[][] {{false, true, false},
+            {true, false, false}}, blocked.toArray(), "After parsing", "blocked");
+        MazeTestUtils.validateSpot(0, 0, start[ROW], start[COL],
+            "After parsing", "start");
+        MazeTestUtils.validateSpot(1, 2, goal[ROW], goal[COL],
+            "After parsing", "goal");
+    }
+
+    /**
+     * The size should be inferred from the first row and the line count.
+     */
+    @Test
+    public void testParseInfersSize()
+    {
+        String text = "S 1 0 0 0\n0 1 0 1 0\n\n0 0 0 1 G\n";
+        int[] goal = new int[2];
+        BitGrid blocked = MazeParser.parse(ByteBuffer.wrap(
+            text.getBytes(StandardCharsets.US_ASCII)), new int[2], goal);
+        assertEquals("wrong number of rows", 3, blocked.getHeight());
+        assertEquals("wrong number of columns", 5, blocked.getWidth());
+        assertTrue("cell at row 2, col 3 should be blocked", blocked.get(2, 3));
+        MazeTestUtils.validateSpot(2, 4, goal[ROW], goal[COL],
+            "After parsing", "goal");
+    }
+
+    /**
+     * A header line should set the size, even if rows wrap lines.
+     */
+    @Test
+    public void testParseHeader()
+    {
+        String text = "# 2 4\nS 1 0\n0 0 1\n1 G\n";
+        int[] start = new int[2];
+        int[] goal = new int[2];
+        BitGrid blocked = MazeParser.parse(ByteBuffer.wrap(
+            text.getBytes(StandardCharsets.US_ASCII)), start, goal);
+        MazeTestUtils.validateArrays(new boolean[][] {{false, true, false, false},
+            {false, true, true, false}}, blocked.toArray(), "After parsing", "blocked");
+        MazeTestUtils.validateSpot(1, 3, goal[ROW], goal[COL],
+            "After parsing", "goal");
+    }
+
+    /**
+     * A header without a size is an error.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseBadHeader()
+    {
+        ByteBuffer bytes = ByteBuffer.wrap("# big\nS G\n"
+            .getBytes(StandardCharsets.US_ASCII));
+        MazeParser.parse(bytes, new int[2], new int[2]);
+    }
+
+    /**
+     * Running out of cells should fail like Scanner did.
+     */
+    @Test(expected = NoSuchElementException.class)
+    public void testParseTruncated()
+    {
+        ByteBuffer bytes = ByteBuffer.wrap("S 0 1\n0 G"
+            .getBytes(StandardCharsets.US_ASCII));
+        MazeParser.parse(bytes, new BitGrid(2, 3), new int[2], new int[2]);
+    }
+
+    /**
+     * A missing file should still be a FileNotFoundException.
+     */
+    @Test(expected = FileNotFoundException.class)
+    public void testParseMissingFile() throws FileNotFoundException
+    {
+        MazeParser.parse("src/data/does_not_exist.txt", new int[2], new int[2]);
+    }
+
+    /**
+     * The buffer position should not move when parsing.
+     */
+    @Test
+    public void testParseLeavesBufferAlone()
+    {
+        ByteBuffer bytes = ByteBuffer.wrap("S G\n".getBytes(StandardCharsets.US_ASCII));
+        MazeParser.parse(bytes, new BitGrid(1, 2), new int[2], new int[2]);
+        assertEquals("parse moved the buffer position", 0, bytes.position());
+    }
+
+    /**
+     * Files too big for one buffer are parsed a window at a time.
+     * Windows here are tiny so a small file takes many of them.
+     *
+     * @throws IOException if the scratch file fails
+     */
+    @Test
+    public void testParseWindows() throws IOException
+    {
+        File file = File.createTempFile("windows", ".txt");
+        try
+        {
+            for (boolean binary : new boolean[] {false, true})
+            {
+                if (binary)
+                {
+                    EllerMazeWriter.writeBinary(file.getPath(), 61, 75,
+                        new SplittableRandom(1));
+                }
+                else
+                {
+                    EllerMazeWriter.writeText(file.getPath(), 61, 75,
+                        new SplittableRandom(1));
+                }
+                int[] start = new int[2];
+                int[] goal = new int[2];
+                BitGrid expected = MazeParser.parse(file.getPath(), start,
+                    goal);
+                for (int window : new int[] {160, 257, 1000})
+                {
+                    int[] windowStart = new int[2];
+                    int[] windowGoal = new int[2];
+                    assertEquals(expected, MazeParser.parse(file.toPath(),
+                        windowStart, windowGoal, 0, window));
+                    assertArrayEquals(start, windowStart);
+                    assertArrayEquals(goal, windowGoal);
+                }
+            }
+        }
+        finally
+        {
+            file.delete();
+        }
+    }
+
+    /**
+     * A row must fit in a window.
+     *
+     * @throws IOException if the scratch file fails
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testParseWindowTooSmall() throws IOException
+    {
+        File file = File.createTempFile("windows", ".txt");
+        try
+        {
+            EllerMazeWriter.writeText(file.getPath(), 5, 75,
+                new SplittableRandom(1));
+            MazeParser.parse(file.toPath(), new int[2], new int[2], 0, 100);
+        }
+        finally
+        {
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package maze;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Scanner;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static labtests.util.TestUtilities.getOutput;
+
+/**
+ * Tests the buffered frame renderer behind printMaze.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public class MazeRendererTest
+{
+    /**
+     * Used to catch output printed to System.out.
+     */
+    private ByteArrayOutputStream baos;
+
+    /**
+     * Stores the original System.out.
+     */
+    private PrintStream oldOut;
+
+    /**
+     * Captures System.out.
+     */
+    @Before
+    public void beforeEach()
+    {
+        oldOut = System.out;
+        baos = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(baos));
+    }
+
+    /**
+     * Restores System.out.
+     */
+    @After
+    public void afterEach()
+    {
+        System.setOut(oldOut);
+    }
+
+    /**
+     * The first frame should match the saved output byte for byte.
+     * The saved files leave off the final line break.
+     *
+     * @throws IOException if the data files are missing
+     */
+    @Test
+    public void testMatchesSavedOutput() throws IOException
+    {
+        new MazeGame("src/data/easy.txt").printMaze();
+        String saved = new String(Files.readAllBytes(
+            Paths.get("src/data/easy_output.txt")));
+        assertArrayEquals("printMaze output changed",
+            (saved + System.lineSeparator()).getBytes(),
+            baos.toByteArray());
+    }
+
+    /**
+     * Reusing the buffer across frames should not leave stale cells.
+     */
+    @Test
+    public void testFramesDoNotLeak() throws FileNotFoundException
+    {
+        MazeGenerator mg = new MazeGenerator();
+        mg.setup(MazeTestUtils.RANDOM_MAZE_FILE);
+        MazeGame game = MazeTestUtils.genRandomGame(mg);
+        for (int i = 0; i < 10; i++)
+        {
+            MazeTestUtils.randomizeBoard(game);
+            baos.reset();
+            game.printMaze();
+            assertEquals("Incorrect print output after redrawing",
+                MazeTestUtils.foo(game), getOutput(baos));
+        }
+    }
+
+    /**
+     * After the first frame, ANSI mode should only send changed cells.
+     *
+     * @throws IOException if the data files are missing
+     */
+    @Test
+    public void testAnsiDiff() throws IOException
+    {
+        MazeGame game = new MazeGame("src/data/easy.txt",
+            new Scanner("down\nq\n"));
+        game.setRenderMode(RenderMode.ANSI_DIFF);
+        game.playGame();
+        String prompt = "Enter your move (up, down, left, right, or q to quit): ";
+        String saved = new String(Files.readAllBytes(
+            Paths.get("src/data/easy_output.txt")));
+        String expected = "\u001b[H\u001b[2J" + saved + System.lineSeparator()
+            + prompt
+            + "\u001b[2;2HS\u001b[3;2H@\u001b[22;1H\u001b[J" + prompt
+            + "\u001b[22;1H\u001b[J" + "Goodbye!"
+            + System.lineSeparator();
+        assertEquals("unexpected ANSI output", expected, baos.toString());
+    }
+
+    /**
+     * Setting the player should force a full frame.
+     */
+    @Test
+    public void testAnsiRedrawAfterSetter() throws FileNotFoundException
+    {
+        MazeGame game = new MazeGame("src/data/easy.txt", new Scanner("q\n"));
+        game.setRenderMode(RenderMode.ANSI_DIFF);
+        game.playGame();
+        baos.reset();
+        game.setPlayerRow(1);
+        game.setPlayerInput(new Scanner("q\n"));
+        game.playGame();
+        assertTrue("setting the player should redraw the whole board",
+            baos.toString().startsWith("\u001b[H\u001b[2J*---"));
+    }
+
+    /**
+     * Lines printed under the prompt, like a hint, are cleared by
+     * the next update rather than left to pile up.
+     *
+     * @throws FileNotFoundException if the data file is missing
+     */
+    @Test
+    public void testAnsiClearsHint() throws FileNotFoundException
+    {
+        MazeGame game = new MazeGame("src/data/easy.txt",
+            new Scanner("hint\nxyz\nq\n"));
+        game.setRenderMode(RenderMode.ANSI_DIFF);
+        game.playGame();
+        String out = baos.toString();
+        int hint = out.indexOf("Hint: ");
+        assertTrue("no hint printed", hint >= 0);
+        assertTrue("the redraw after the hint should clear below the board",
+            out.startsWith("\u001b[22;1H\u001b[J", out.indexOf('\u001b', hint)));
+        int unknown = out.indexOf("Uh oh");
+        assertTrue("the redraw after a bad move should clear it too",
+            out.startsWith("\u001b[22;1H\u001b[J",
+            out.indexOf('\u001b', unknown)));
+    }
+}
@@ -0,0 +1,146 @@
+package maze;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Test;
+
+/**
+ * Tests loading mazes from each kind of MazeSource.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public class MazeSourceTest
+{
+    /**
+     * A small maze, S at the top left and G at the bottom right.
+     */
+    private static final String TEXT = "S 0 0 1 \n1 1 0 1 \n1 1 0 G \n";
+
+    /**
+     * Moves that win the small maze.
+     */
+    private static final String WIN = "right right down down right";
+
+    /**
+     * Text, bytes, buffers and streams all give the same maze.
+     *
+     * @throws IOException never, the sources are in memory
+     */
+    @Test
+    public void testInMemory() throws IOException
+    {
+        byte[] bytes = TEXT.getBytes(StandardCharsets.US_ASCII);
+        check(MazeTemplate.load(MazeSource.fromText(TEXT)));
+        check(MazeTemplate.load(MazeSource.fromText(
+            new StringBuilder(TEXT))));
+        check(MazeTemplate.load(MazeSource.fromBytes(bytes)));
+        check(MazeTemplate.load(MazeSource.fromStream(
+            new ByteArrayInputStream(bytes))));
+    }
+
+    /**
+     * A buffer is read from its position, and can be read again.
+     *
+     * @throws IOException never, the source is in memory
+     */
+    @Test
+    public void testBuffer() throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.wrap(("junk" + TEXT)
+            .getBytes(StandardCharsets.US_ASCII));
+        buffer.position(4);
+        MazeSource source = MazeSource.fromBuffer(buffer);
+        check(MazeTemplate.load(source));
+        check(MazeTemplate.load(source));
+        assertEquals(4, buffer.position());
+    }
+
+    /**
+     * Binary mazes load from memory too.
+     *
+     * @throws IOException never, the source is in memory
+     */
+    @Test
+    public void testBinary() throws IOException
+    {
+        MazeTemplate text = MazeTemplate.load(MazeSource.fromText(TEXT));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryMazeFormat.write(Channels.newChannel(out), text.blocked(),
+            new int[] {0, 0}, new int[] {2, 3});
+        check(MazeTemplate.load(MazeSource.fromBytes(out.toByteArray())));
+    }
+
+    /**
+     * Files load through a path.
+     *
+     * @throws IOException if the scratch file fails
+     */
+    @Test
+    public void testPath() throws IOException
+    {
+        File file = File.createTempFile("maze", ".txt");
+        try
+        {
+            Files.writeString(file.toPath(), TEXT);
+            check(MazeTemplate.load(MazeSource.fromPath(file.toPath())));
+        }
+        finally
+        {
+            file.delete();
+        }
+    }
+
+    /**
+     * A game can start straight from text and be won.
+     *
+     * @throws IOException never, the source is in memory
+     */
+    @Test
+    public void testGame() throws IOException
+    {
+        MazeGame game = new MazeGame(MazeSource.fromText(TEXT));
+        game.setOutput(MazeOutput.NONE);
+        assertEquals(GameOutcome.WON, game.playMoves(WIN));
+    }
+
+    /**
+     * Missing files and resources are not found.
+     *
+     * @throws IOException always
+     */
+    @Test(expected = FileNotFoundException.class)
+    public void testMissingResource() throws IOException
+    {
+        MazeTemplate.load(MazeSource.fromResource("no/such/maze.txt"));
+    }
+
+    /**
+     * Checks a template is the small maze from MazeTestUtils.
+     *
+     * @param template the template
+     */
+    private static void check(MazeTemplate template)
+    {
+        MazeTemplate small = MazeTestUtils.smallMaze();
+        assertEquals(small.getHeight(), template.getHeight());
+        assertEquals(small.getWidth(), template.getWidth());
+        assertEquals(small.getStartRow(), template.getStartRow());
+        assertEquals(small.getStartCol(), template.getStartCol());
+        assertEquals(small.getGoalRow(), template.getGoalRow());
+        assertEquals(small.getGoalCol(), template.getGoalCol());
+        assertArrayEquals(small.getBlockedView().toArray(),
+            template.getBlockedView().toArray());
+    }
+}
@@ -0,0 +1,135 @@
+package maze;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests sharing parsed mazes between games.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public class MazeTemplateTest
+{
+    /**
+     * An old modified time, well clear of the racy window.
+     */
+    private static final FileTime LONG_AGO = FileTime.fromMillis(1_000_000L);
+
+    /**
+     * Scratch maze file.
+     */
+    private File mazeFile;
+
+    /**
+     * Writes a small maze with an old modified time.
+     *
+     * @throws IOException if the temp file cannot be made
+     */
+    @Before
+    public void beforeEach() throws IOException
+    {
+        mazeFile = File.createTempFile("maze", ".txt");
+        writeMaze("S 0 1\n1 0 G\n", LONG_AGO);
+    }
+
+    /**
+     * Removes the scratch file.
+     */
+    @After
+    public void afterEach()
+    {
+        mazeFile.delete();
+    }
+
+    /**
+     * Games on an unchanged file should share one template.
+     */
+    @Test
+    public void testGamesShareTemplate() throws FileNotFoundException
+    {
+        MazeGame first = new MazeGame(mazeFile.getPath());
+        MazeGame second = new MazeGame(mazeFile.getPath());
+        assertSame("games on the same file should share a template",
+            first.getTemplate(), second.getTemplate());
+    }
+
+    /**
+     * A changed file should be parsed again.
+     */
+    @Test
+    public void testChangedFileReloads() throws IOException
+    {
+        MazeTemplate before = MazeTemplate.load(mazeFile.getPath());
+        writeMaze("S 1 1\n0 0 G\n", FileTime.fromMillis(2_000_000L));
+        MazeTemplate after = MazeTemplate.load(mazeFile.getPath());
+        assertNotSame("a changed file should give a new template",
+            before, after);
+        assertFalse("the new template should have the new walls",
+            after.getBlockedView().get(1, 0));
+    }
+
+    /**
+     * setBlocked on one game should not leak into another.
+     */
+    @Test
+    public void testSetBlockedStaysLocal() throws FileNotFoundException
+    {
+        MazeGame first = new MazeGame(mazeFile.getPath());
+        MazeGame second = new MazeGame(mazeFile.getPath());
+        first.setBlocked(new boolean[2][3]);
+        assertFalse("first game should have its new walls",
+            first.isBlocked(0, 2));
+        assertEquals("second game should keep the file's walls",
+            true, second.isBlocked(0, 2));
+        assertEquals("the template should keep the file's walls",
+            true, second.getTemplate().getBlockedView().get(0, 2));
+    }
+
+    /**
+     * Per-game state should start fresh on a shared template.
+     */
+    @Test
+    public void testPerGameState() throws FileNotFoundException
+    {
+        MazeTemplate template = MazeTemplate.load(mazeFile.getPath());
+        MazeGame first = new MazeGame(template);
+        MazeGame second = new MazeGame(template);
+        first.setPlayerCol(1);
+        first.setGoalRow(0);
+        assertEquals("moving one player moved the other",
+            0, second.getPlayerCol());
+        assertEquals("moving one goal moved the other",
+            1, second.getGoalRow());
+        assertEquals("moving a goal changed the template",
+            1, template.getGoalRow());
+    }
+
+    /**
+     * Rewrites the scratch maze.
+     *
+     * @param text the maze text
+     * @param modified the modified time to give the file
+     * @throws IOException if the file cannot be written
+     */
+    private void writeMaze(String text, FileTime modified) throws IOException
+    {
+        PrintWriter pw = new PrintWriter(mazeFile);
+        pw.print(text);
+        pw.close();
+        Files.setLastModifiedTime(mazeFile.toPath(), modified);
+    }
+}
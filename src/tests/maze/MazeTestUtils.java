@@ -2,9 +2,11 @@ package maze;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.FileNotFoundException;
+import java.util.SplittableRandom;
 
 public class MazeTestUtils
 {
@@ -315,4 +317,124 @@ public class MazeTestUtils
         } while (blocked[spot[0]][spot[1]]);
         return spot;
     }
+
+    /**
+     * Builds a grid from rows of 0s and 1s.
+     *
+     * @param rows the rows, 1 for a wall
+     * @return the grid
+     */
+    public static BitGrid grid(String... rows)
+    {
+        BitGrid blocked = new BitGrid(rows.length, rows[0].length());
+        for (int row = 0; row < rows.length; row++)
+        {
+            for (int col = 0; col < rows[row].length(); col++)
+            {
+                blocked.set(row, col, rows[row].charAt(col) == '1');
+            }
+        }
+        return blocked;
+    }
+
+    /**
+     * A 3 x 4 maze shared by the small tests, S at the top left
+     * and G at the bottom right.
+     * <pre>
+     * S 0 0 1
+     * 1 1 0 1
+     * 1 1 0 G
+     * </pre>
+     *
+     * @return the maze
+     */
+    public static MazeTemplate smallMaze()
+    {
+        return MazeTemplate.of(grid("0001", "1101", "1100"),
+            new int[] {0, 0}, new int[] {2, 3});
+    }
+
+    /**
+     * A game on smallMaze that prints nothing.
+     *
+     * @return the game
+     */
+    public static MazeGame smallGame()
+    {
+        MazeGame game = new MazeGame(smallMaze());
+        game.setOutput(MazeOutput.NONE);
+        return game;
+    }
+
+    /**
+     * Makes a grid with walls at random.
+     *
+     * @param random the randomness
+     * @param height rows
+     * @param width cols
+     * @param density chance of a wall
+     * @return the grid
+     */
+    public static BitGrid randomGrid(SplittableRandom random, int height,
+        int width, double density)
+    {
+        BitGrid blocked = new BitGrid(height, width);
+        for (int row = 0; row < height; row++)
+        {
+            for (int col = 0; col < width; col++)
+            {
+                blocked.set(row, col, random.nextDouble() < density);
+            }
+        }
+        return blocked;
+    }
+
+    /**
+     * Picks a start and goal and opens their cells.
+     *
+     * @param random the randomness
+     * @param blocked the grid
+     * @return start row, start col, goal row, goal col
+     */
+    public static int[] openEnds(SplittableRandom random, BitGrid blocked)
+    {
+        int[] ends = {random.nextInt(blocked.getHeight()),
+            random.nextInt(blocked.getWidth()),
+            random.nextInt(blocked.getHeight()),
+            random.nextInt(blocked.getWidth())};
+        blocked.clear(ends[0], ends[1]);
+        blocked.clear(ends[2], ends[3]);
+        return ends;
+    }
+
+    /**
+     * Checks a path runs from start to goal in single steps over
+     * open cells.
+     *
+     * @param blocked the grid
+     * @param path the path
+     * @param ends start row, start col, goal row, goal col
+     */
+    public static void assertPath(GridView blocked, MazePath path, int[] ends)
+    {
+        assertEquals(ends[0], path.getRow(0));
+        assertEquals(ends[1], path.getCol(0));
+        assertEquals(ends[2], path.getRow(path.length()));
+        assertEquals(ends[3], path.getCol(path.length()));
+        for (int i = 0; i <= path.length(); i++)
+        {
+            assertTrue("path crosses a wall",
+                !blocked.get(path.getRow(i), path.getCol(i)));
+            if (i > 0)
+            {
+                assertEquals(1, Math.abs(path.getRow(i) - path.getRow(i - 1))
+                    + Math.abs(path.getCol(i) - path.getCol(i - 1)));
+                Move move = path.getMove(i - 1);
+                assertEquals("wrong move " + move, path.getRow(i),
+                    path.getRow(i - 1) + move.getRowStep());
+                assertEquals("wrong move " + move, path.getCol(i),
+                    path.getCol(i - 1) + move.getColStep());
+            }
+        }
+    }
 }
@@ -0,0 +1,199 @@
+package maze;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Scanner;
+
+import org.junit.Test;
+
+/**
+ * Tests MoveDecoder and that playGame allocates nothing per move
+ * once it reads from a move source.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public class MoveDecoderTest
+{
+    /**
+     * Bytes playGame may allocate over a whole run, on top of a
+     * short run, no matter how many more moves it reads.
+     */
+    private static final long ALLOCATION_BUDGET = 1024;
+
+    /**
+     * Decodes words by their first letter, any case, any spacing.
+     *
+     * @throws IOException never, the stream is in memory
+     */
+    @Test
+    public void testDecode() throws IOException
+    {
+        MoveDecoder decoder = new MoveDecoder(stream(
+            "  up\tDOWN\r\nleft Right quit xyz\n\n"));
+        assertEquals(Move.UP, decoder.next());
+        assertEquals(Move.DOWN, decoder.next());
+        assertEquals(Move.LEFT, decoder.next());
+        assertEquals(Move.RIGHT, decoder.next());
+        assertEquals(Move.QUIT, decoder.next());
+        assertEquals(Move.UNKNOWN, decoder.next());
+        assertNull(decoder.next());
+        assertNull(decoder.next());
+    }
+
+    /**
+     * Counts come from the end of the word or the next word on
+     * the same line.
+     *
+     * @throws IOException never, the stream is in memory
+     */
+    @Test
+    public void testCounts() throws IOException
+    {
+        MoveDecoder decoder = new MoveDecoder(stream(
+            "d5 right12 u \t7x l\n3 r2d q 99999999999"));
+        assertEquals(Move.DOWN, decoder.next());
+        assertEquals(5, decoder.count());
+        assertEquals(Move.RIGHT, decoder.next());
+        assertEquals(12, decoder.count());
+        assertEquals(Move.UP, decoder.next());
+        assertEquals(7, decoder.count());
+        assertEquals(Move.LEFT, decoder.next());
+        assertEquals(1, decoder.count());
+        assertEquals(Move.UNKNOWN, decoder.next());
+        assertEquals(Move.RIGHT, decoder.next());
+        assertEquals(1, decoder.count());
+        assertEquals(Move.QUIT, decoder.next());
+        assertEquals(Integer.MAX_VALUE, decoder.count());
+        assertNull(decoder.next());
+    }
+
+    /**
+     * Chars, bytes and streams split words the same way, on any
+     * char up to a space, control chars included.
+     *
+     * @throws IOException never, the input is in memory
+     */
+    @Test
+    public void testSameForEveryInput() throws IOException
+    {
+        String moves = "d5 r\u0001r u \t7x\u000bl\n3 r2d q 12";
+        byte[] bytes = moves.getBytes(StandardCharsets.US_ASCII);
+        MoveDecoder text = new MoveDecoder(moves);
+        MoveDecoder array = new MoveDecoder(bytes);
+        MoveDecoder streamed = new MoveDecoder(stream(moves));
+        int words = 0;
+        for (Move move = text.next(); move != null; move = text.next())
+        {
+            assertEquals(move, array.next());
+            assertEquals(move, streamed.next());
+            assertEquals(text.count(), array.count());
+            assertEquals(text.count(), streamed.count());
+            words++;
+        }
+        assertNull(array.next());
+        assertNull(streamed.next());
+        assertEquals(8, words);
+    }
+
+    /**
+     * playMoves reads text and bytes the same way.
+     */
+    @Test
+    public void testPlayMovesAgree()
+    {
+        String moves = "r\u0001r\u001fd d r";
+        MazeGame text = MazeTestUtils.smallGame();
+        MazeGame bytes = MazeTestUtils.smallGame();
+        assertEquals(GameOutcome.WON, text.playMoves(moves));
+        assertEquals(GameOutcome.WON, bytes.playMoves(
+            moves.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    /**
+     * A game on a move source plays like one on a Scanner.
+     */
+    @Test
+    public void testPlayFromSource()
+    {
+        MazeGame game = MazeTestUtils.smallGame();
+        game.setMoveSource(stream("r r d x d r"));
+        game.playGame();
+        assertEquals(2, game.getPlayerRow());
+        assertEquals(3, game.getPlayerCol());
+
+        game = MazeTestUtils.smallGame();
+        game.setPlayerInput(new Scanner("r2\n\nd 2 x\nr\n"));
+        game.playGame();
+        assertEquals(2, game.getPlayerRow());
+        assertEquals(3, game.getPlayerCol());
+    }
+
+    /**
+     * Reading and applying moves should allocate nothing per move:
+     * a long game may allocate no more than a short one.
+     */
+    @Test
+    public void testNoAllocationPerMove()
+    {
+        assumeTrue("thread allocation counting unsupported",
+            ManagementFactory.getThreadMXBean()
+                instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean)
+                ManagementFactory.getThreadMXBean();
+        assumeTrue("thread allocation counting unsupported",
+            threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        MazeGame game = MazeTestUtils.smallGame();
+        playBackAndForth(game, threads, 20000);
+        long shortRun = playBackAndForth(game, threads, 1000);
+        long longRun = playBackAndForth(game, threads, 50000);
+        assertEquals(0, game.getPlayerCol());
+        assertEquals("bytes allocated by 49000 extra moves",
+            0, Math.max(0, longRun - shortRun - ALLOCATION_BUDGET));
+    }
+
+    /**
+     * Plays right-left pairs then quits, counting the bytes allocated.
+     *
+     * @param game the game to play
+     * @param threads the allocation counter
+     * @param pairs how many right-left pairs
+     * @return bytes allocated by playGame
+     */
+    private static long playBackAndForth(MazeGame game,
+        com.sun.management.ThreadMXBean threads, int pairs)
+    {
+        StringBuilder moves = new StringBuilder();
+        for (int i = 0; i < pairs; i++)
+        {
+            moves.append("RIGHT l ");
+        }
+        moves.append("q\n");
+        game.setMoveSource(stream(moves.toString()));
+        long id = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(id);
+        game.playGame();
+        return threads.getThreadAllocatedBytes(id) - before;
+    }
+
+    /**
+     * Makes a stream over ASCII text.
+     *
+     * @param text the text
+     * @return the stream
+     */
+    private static ByteArrayInputStream stream(String text)
+    {
+        return new ByteArrayInputStream(
+            text.getBytes(StandardCharsets.US_ASCII));
+    }
+}
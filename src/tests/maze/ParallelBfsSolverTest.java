@@ -0,0 +1,111 @@
+package maze;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Tests ParallelBfsSolver against BfsSolver, with the thresholds
+ * turned down so small grids still run in parallel.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public class ParallelBfsSolverTest
+{
+    /**
+     * Number of random grids to compare against BFS.
+     */
+    private static final int TRIALS = 300;
+
+    /**
+     * Pool shared by the tests.
+     */
+    private static ForkJoinPool pool;
+
+    /**
+     * Starts the pool.
+     */
+    @BeforeClass
+    public static void beforeAll()
+    {
+        pool = new ForkJoinPool(4);
+    }
+
+    /**
+     * Stops the pool.
+     */
+    @AfterClass
+    public static void afterAll()
+    {
+        pool.shutdown();
+    }
+
+    /**
+     * Paths are as long as BFS paths and walk open cells.
+     */
+    @Test
+    public void testMatchesBfs()
+    {
+        SplittableRandom random = new SplittableRandom(18);
+        ParallelBfsSolver parallel = new ParallelBfsSolver(pool, 0, 8);
+        BfsSolver bfs = new BfsSolver();
+        for (int i = 0; i < TRIALS; i++)
+        {
+            BitGrid blocked = MazeTestUtils.randomGrid(random,
+                1 + random.nextInt(120), 1 + random.nextInt(120),
+                random.nextDouble() * 0.45);
+            int[] ends = MazeTestUtils.openEnds(random, blocked);
+            MazePath expected = bfs.solve(blocked, ends[0], ends[1],
+                ends[2], ends[3]);
+            MazePath path = parallel.solve(blocked, ends[0], ends[1],
+                ends[2], ends[3]);
+            if (expected == null)
+            {
+                assertNull(path);
+                continue;
+            }
+            assertEquals("trial " + i, expected.length(), path.length());
+            MazeTestUtils.assertPath(blocked, path, ends);
+        }
+    }
+
+    /**
+     * A big perfect maze, split across the pool level by level.
+     */
+    @Test
+    public void testPerfectMaze()
+    {
+        int size = 801;
+        BitGrid blocked = SeededMazeGenerator.carve(size, size,
+            MazeAlgorithm.BACKTRACKER, new SplittableRandom(9));
+        MazePath expected = new BfsSolver().solve(blocked, 0, 0,
+            size - 1, size - 1);
+        ParallelBfsSolver parallel = new ParallelBfsSolver(pool, 0, 16);
+        for (int i = 0; i < 3; i++)
+        {
+            assertEquals(expected.length(), parallel.solve(blocked, 0, 0,
+                size - 1, size - 1).length());
+        }
+    }
+
+    /**
+     * Small grids go to the sequential solver.
+     */
+    @Test
+    public void testSmallGrid()
+    {
+        ParallelBfsSolver solver = new ParallelBfsSolver();
+        MazePath path = solver.solve(
+            MazeTestUtils.smallMaze().getBlockedView(), 0, 0, 2, 3);
+        assertEquals(5, path.length());
+        assertEquals(0, solver.solve(new BitGrid(2, 2), 1, 1, 1, 1)
+            .length());
+    }
+}
@@ -0,0 +1,109 @@
+package maze;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+/**
+ * Tests SeededMazeGenerator.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public class SeededMazeGeneratorTest
+{
+    /**
+     * Sizes to carve, odd, even and degenerate, and one taller than
+     * the rows KRUSKAL puts walls off by.
+     */
+    private static final int[][] SIZES = {{1, 1}, {1, 9}, {2, 2},
+        {7, 7}, {8, 13}, {31, 64}, {65, 65}, {100, 3},
+        {301, 41}};
+
+    /**
+     * Every algorithm carves a perfect maze: all rooms open and
+     * joined by exactly one wall cell fewer than there are rooms,
+     * all reachable from the first room.
+     */
+    @Test
+    public void testPerfect()
+    {
+        SplittableRandom random = new SplittableRandom(22);
+        for (MazeAlgorithm algorithm : MazeAlgorithm.values())
+        {
+            for (int[] size : SIZES)
+            {
+                BitGrid blocked = SeededMazeGenerator.carve(size[0],
+                    size[1], algorithm, random);
+                long rooms = (long) ((size[0] + 1) / 2)
+                    * ((size[1] + 1) / 2);
+                long open = (long) size[0] * size[1]
+                    - blocked.cardinality();
+                assertEquals(algorithm + " " + size[0] + "x" + size[1],
+                    2 * rooms - 1, open);
+                assertEquals(open, new WavefrontReachability(blocked)
+                    .reachable(0, 0).cardinality());
+                for (int row = 1; row < size[0]; row += 2)
+                {
+                    for (int col = 1; col < size[1]; col += 2)
+                    {
+                        assertTrue(blocked.get(row, col));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A seed always carves the same maze, and another seed another.
+     */
+    @Test
+    public void testSeeded()
+    {
+        for (MazeAlgorithm algorithm : MazeAlgorithm.values())
+        {
+            BitGrid first = SeededMazeGenerator.carve(41, 57, algorithm,
+                new SplittableRandom(5));
+            assertEquals(first, SeededMazeGenerator.carve(41, 57,
+                algorithm, new SplittableRandom(5)));
+            assertNotEquals(first, SeededMazeGenerator.carve(41, 57,
+                algorithm, new SplittableRandom(6)));
+        }
+    }
+
+    /**
+     * The template starts in the top left room and ends in the
+     * bottom right room, and is solvable.
+     */
+    @Test
+    public void testTemplate()
+    {
+        MazeTemplate template = SeededMazeGenerator.generate(10, 21,
+            MazeAlgorithm.KRUSKAL, new SplittableRandom(3));
+        assertEquals(0, template.getStartRow());
+        assertEquals(0, template.getStartCol());
+        assertEquals(8, template.getGoalRow());
+        assertEquals(20, template.getGoalCol());
+        assertTrue(template.isSolvable());
+        assertFalse(template.getBlockedView().get(8, 20));
+        MazeGame game = new MazeGame(template);
+        game.setOutput(MazeOutput.NONE);
+        assertEquals(GameOutcome.WON, game.playMoves(new BfsSolver()
+            .solve(game).toInput()));
+    }
+
+    /**
+     * Sizes below 1 are refused.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadSize()
+    {
+        SeededMazeGenerator.carve(0, 5, MazeAlgorithm.BACKTRACKER,
+            new SplittableRandom(1));
+    }
+}
@@ -0,0 +1,191 @@
+package maze;
+
+import java.io.FileNotFoundException;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Times the solvers against each other on the hard lab maze and on
+ * large generated mazes. Run with make bench.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public class SolverBenchmark
+{
+    private static final int LARGE = 2001;
+    private static final int HUGE = 6001;
+    private static final int WARMUP = 5;
+    private static final int ROUNDS = 20;
+    private static final int SMALL_ROUNDS = 100_000;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args command line arguments, unused
+     * @throws FileNotFoundException if the data files are missing
+     */
+    public static void main(String[] args) throws FileNotFoundException
+    {
+        MazeTemplate hard = MazeTemplate.load("src/data/hard.txt");
+        run("hard.txt", hard.getBlockedView(), hard.getStartRow(),
+            hard.getStartCol(), hard.getGoalRow(), hard.getGoalCol(),
+            SMALL_ROUNDS);
+
+        SplittableRandom random = new SplittableRandom(1);
+        BitGrid perfect = SeededMazeGenerator.carve(LARGE, LARGE,
+            MazeAlgorithm.BACKTRACKER, random);
+        run("perfect " + LARGE + "^2", perfect, 0, 0, LARGE - 1, LARGE - 1,
+            ROUNDS);
+
+        BitGrid open = MazeTestUtils.randomGrid(random, LARGE, LARGE, 0.2);
+        open.clear(0, 0);
+        open.clear(LARGE - 1, LARGE - 1);
+        run("20% walls " + LARGE + "^2", open, 0, 0, LARGE - 1, LARGE - 1,
+            ROUNDS);
+
+        reachability("perfect " + LARGE + "^2", perfect);
+        reachability("20% walls " + LARGE + "^2", open);
+
+        BitGrid huge = MazeTestUtils.randomGrid(random, HUGE, HUGE, 0.2);
+        huge.clear(0, 0);
+        huge.clear(HUGE - 1, HUGE - 1);
+        scaling("20% walls " + HUGE + "^2", huge);
+        hierarchical("20% walls " + HUGE + "^2", huge);
+    }
+
+    /**
+     * Times building a HierarchicalPlanner and then a corner to
+     * corner query on it against A*.
+     *
+     * @param name what to call the maze
+     * @param blocked the walls
+     */
+    static void hierarchical(String name, BitGrid blocked)
+    {
+        int last = blocked.getHeight() - 1;
+        long begin = System.nanoTime();
+        HierarchicalPlanner planner = new HierarchicalPlanner(blocked);
+        long build = System.nanoTime() - begin;
+        long query = Long.MAX_VALUE;
+        MazePath path = null;
+        for (int i = 0; i < WARMUP; i++)
+        {
+            begin = System.nanoTime();
+            path = planner.path(0, 0, last, last);
+            query = Math.min(query, System.nanoTime() - begin);
+        }
+        long astar = time(new AStarSolver(), blocked, last);
+        System.out.printf("%-18s %-22s %8.1f ms  build %8.1f ms  "
+            + "astar %8.1f ms  length %s%n", name, "hierarchical query",
+            query / 1e6, build / 1e6, astar / 1e6,
+            path == null ? "none" : String.valueOf(path.length()));
+    }
+
+    /**
+     * Times a corner to corner reachability check by wavefront
+     * and by BFS.
+     *
+     * @param name what to call the maze
+     * @param blocked the walls
+     */
+    static void reachability(String name, BitGrid blocked)
+    {
+        int last = blocked.getHeight() - 1;
+        long wave = Long.MAX_VALUE;
+        for (int i = 0; i < WARMUP; i++)
+        {
+            long begin = System.nanoTime();
+            new WavefrontReachability(blocked).isReachable(0, 0, last, last);
+            wave = Math.min(wave, System.nanoTime() - begin);
+        }
+        long bfs = time(new BfsSolver(), blocked, last);
+        System.out.printf("%-18s %-22s %8.1f ms  bfs %8.1f ms%n", name,
+            "wavefront reachable", wave / 1e6, bfs / 1e6);
+    }
+
+    /**
+     * Times BfsSolver and then ParallelBfsSolver on pools of
+     * growing size.
+     *
+     * @param name what to call the maze
+     * @param blocked the walls
+     */
+    static void scaling(String name, BitGrid blocked)
+    {
+        int last = blocked.getHeight() - 1;
+        long sequential = time(new BfsSolver(), blocked, last);
+        System.out.printf("%-18s %-22s %8.1f ms%n", name, "BfsSolver",
+            sequential / 1e6);
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= cores; threads *= 2)
+        {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            long parallel = time(new ParallelBfsSolver(pool), blocked, last);
+            pool.shutdown();
+            System.out.printf("%-18s %-22s %8.1f ms  %5.2fx%n", name,
+                "ParallelBfs x" + threads, parallel / 1e6,
+                (double) sequential / parallel);
+        }
+    }
+
+    /**
+     * Times the best of a few corner to corner solves.
+     *
+     * @param solver the solver
+     * @param blocked the walls
+     * @param last the last row and col
+     * @return the fastest solve in nanos
+     */
+    private static long time(MazeSolver solver, GridView blocked, int last)
+    {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < WARMUP; i++)
+        {
+            long begin = System.nanoTime();
+            solver.solve(blocked, 0, 0, last, last);
+            best = Math.min(best, System.nanoTime() - begin);
+        }
+        return best;
+    }
+
+    /**
+     * Times every solver on one maze and prints a line each.
+     *
+     * @param name what to call the maze
+     * @param blocked the walls
+     * @param startRow start row
+     * @param startCol start col
+     * @param goalRow goal row
+     * @param goalCol goal col
+     * @param rounds solves to time
+     */
+    static void run(String name, GridView blocked, int startRow,
+        int startCol, int goalRow, int goalCol, int rounds)
+    {
+        GridSolver[] solvers = {new BfsSolver(), new AStarSolver(),
+            new JpsSolver()};
+        for (GridSolver solver : solvers)
+        {
+            MazePath path = null;
+            for (int i = 0; i < Math.min(rounds, WARMUP * ROUNDS); i++)
+            {
+                path = solver.solve(blocked, startRow, startCol,
+                    goalRow, goalCol);
+            }
+            long begin = System.nanoTime();
+            for (int i = 0; i < rounds; i++)
+            {
+                path = solver.solve(blocked, startRow, startCol,
+                    goalRow, goalCol);
+            }
+            long elapsed = System.nanoTime() - begin;
+            System.out.printf("%-18s %-14s %10.1f us/solve  "
+                + "length %7s  expanded %9d%n", name,
+                solver.getClass().getSimpleName(),
+                elapsed / 1000.0 / rounds,
+                path == null ? "none" : String.valueOf(path.length()),
+                solver.getExpanded());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package maze;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.SplittableRandom;
+
+import org.junit.Test;
+
+/**
+ * Tests WavefrontReachability against DistanceField.
+ *
+ * @author Austin Hardin
+ * @version v1 17Oct26
+ */
+public class WavefrontReachabilityTest
+{
+    /**
+     * Number of random grids to check.
+     */
+    private static final int TRIALS = 200;
+
+    /**
+     * Reachable cells, cells within a number of moves and distances
+     * all agree with a BFS, on rows that span several words.
+     */
+    @Test
+    public void testMatchesBfs()
+    {
+        SplittableRandom random = new SplittableRandom(19);
+        for (int i = 0; i < TRIALS; i++)
+        {
+            BitGrid blocked = MazeTestUtils.randomGrid(random,
+                1 + random.nextInt(20), 1 + random.nextInt(200),
+                random.nextDouble() * 0.5);
+            int[] ends = MazeTestUtils.openEnds(random, blocked);
+            WavefrontReachability wave = new WavefrontReachability(blocked);
+            DistanceField field = DistanceField.compute(blocked,
+                ends[0], ends[1]);
+            int limit = random.nextInt(30);
+            BitGrid all = wave.reachable(ends[0], ends[1]);
+            BitGrid near = wave.reachableWithin(ends[0], ends[1], limit);
+            for (int row = 0; row < blocked.getHeight(); row++)
+            {
+                for (int col = 0; col < blocked.getWidth(); col++)
+                {
+                    int distance = field.distance(row, col);
+                    assertEquals(distance >= 0, all.get(row, col));
+                    assertEquals(distance >= 0 && distance <= limit,
+                        near.get(row, col));
+                }
+            }
+            assertEquals(field.distance(ends[2], ends[3]),
+                wave.distance(ends[0], ends[1], ends[2], ends[3]));
+            assertEquals(field.distance(ends[2], ends[3]) >= 0,
+                wave.isReachable(ends[0], ends[1], ends[2], ends[3]));
+        }
+    }
+
+    /**
+     * A winding maze is flooded all the way, and a walled start
+     * reaches nothing.
+     */
+    @Test
+    public void testPerfectMaze()
+    {
+        BitGrid blocked = SeededMazeGenerator.carve(301, 301,
+            MazeAlgorithm.BACKTRACKER, new SplittableRandom(2));
+        WavefrontReachability wave = new WavefrontReachability(blocked);
+        assertTrue(wave.isReachable(0, 0, 300, 300));
+        assertEquals(301L * 301 - blocked.cardinality(),
+            wave.reachable(0, 0).cardinality());
+        assertEquals(0, wave.reachable(0, 1).cardinality());
+    }
+
+    /**
+     * A start walled in along its row still floods up and down.
+     */
+    @Test
+    public void testVerticalExit()
+    {
+        WavefrontReachability wave = new WavefrontReachability(
+            MazeTestUtils.grid("010", "000", "010"));
+        assertEquals(7, wave.reachable(0, 0).cardinality());
+        assertEquals(4, wave.reachableWithin(0, 0, 2).cardinality());
+        assertEquals(4, wave.distance(0, 0, 2, 2));
+    }
+
+    /**
+     * loadSolvable turns away a maze whose goal is walled in.
+     *
+     * @throws IOException if the temp file can not be written
+     */
+    @Test
+    public void testLoadSolvable() throws IOException
+    {
+        assertTrue(MazeTemplate.loadSolvable("src/data/hard.txt")
+            .isSolvable());
+        File file = File.createTempFile("unsolvable", ".txt");
+        file.deleteOnExit();
+        Files.write(file.toPath(), "S 0 1 0\n0 0 1 G\n"
+            .getBytes(StandardCharsets.US_ASCII));
+        assertFalse(MazeTemplate.load(file.getPath()).isSolvable());
+        try
+        {
+            MazeTemplate.loadSolvable(file.getPath());
+            fail("unsolvable maze was loaded");
+        }
+        catch (IllegalArgumentException e)
+        {
+            assertTrue(e.getMessage().contains(file.getPath()));
+        }
+    }
+}